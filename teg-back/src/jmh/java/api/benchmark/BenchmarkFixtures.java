@@ -0,0 +1,89 @@
+package api.benchmark;
+
+import api.engine.BoardDealer;
+import api.engine.GameState;
+import api.engine.WorldMap;
+import api.model.Country;
+import api.model.Game;
+import api.model.GamePlayer;
+import api.model.GamePlayerId;
+import api.model.GameStatus;
+import api.model.PlayerColor;
+import api.model.PlayerCountry;
+import api.model.PlayerCountryId;
+import api.model.User;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Random;
+
+/**
+ * Builds fully populated games in memory, so benchmarks never need a database.
+ */
+final class BenchmarkFixtures {
+
+    static final WorldMap MAP = WorldMap.loadDefault();
+    static final int PLAYERS = 6;
+    static final long GAME_ID = 1L;
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * A WAITING game with six players and no board.
+     */
+    static Game waitingGame() {
+        Game game = Game.builder()
+                .id(GAME_ID)
+                .name("benchmark")
+                .maxPlayers(PLAYERS)
+                .status(GameStatus.WAITING)
+                .createdAt(LocalDateTime.now())
+                .players(new HashSet<>())
+                .build();
+        PlayerColor[] colors = PlayerColor.values();
+        for (int i = 0; i < PLAYERS; i++) {
+            User user = User.builder()
+                    .id((long) i + 1)
+                    .username("player" + (i + 1))
+                    .email("player" + (i + 1) + "@teg.com")
+                    .password("secret")
+                    .build();
+            if (i == 0) {
+                game.setCreatedBy(user);
+            }
+            game.getPlayers().add(GamePlayer.builder()
+                    .id(new GamePlayerId(GAME_ID, user.getId()))
+                    .game(game)
+                    .user(user)
+                    .color(colors[i])
+                    .turnOrder(i + 1)
+                    .joinedAt(LocalDateTime.now())
+                    .playerCountries(new HashSet<>())
+                    .build());
+        }
+        return game;
+    }
+
+    /**
+     * A game with six players and the whole map dealt, with the board held by the entities.
+     */
+    static Game startedGame(long seed) {
+        Game game = waitingGame();
+        GameState state = BoardDealer.deal(GAME_ID, game.getPlayers(), MAP, new Random(seed));
+        for (GamePlayer player : game.getPlayers()) {
+            int slot = state.slotOf(player.getId().getUserId());
+            player.setObjective(state.getObjective(slot));
+            for (int country = 0; country < MAP.size(); country++) {
+                if (state.getOwner(country) == slot) {
+                    String id = MAP.id(country);
+                    player.getPlayerCountries().add(new PlayerCountry(
+                            new PlayerCountryId(GAME_ID, player.getId().getUserId(), id),
+                            player, new Country(id), state.getTroops(country)));
+                }
+            }
+        }
+        game.setStatus(GameStatus.IN_PROGRESS);
+        return game;
+    }
+}
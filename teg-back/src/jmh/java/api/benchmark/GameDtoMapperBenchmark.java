@@ -0,0 +1,48 @@
+package api.benchmark;
+
+import api.dto.GameDTO;
+import api.engine.BoardDealer;
+import api.engine.GameState;
+import api.model.Game;
+import api.util.GameDtoMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class GameDtoMapperBenchmark {
+
+    private Game game;
+    private GameState state;
+
+    @Setup
+    public void setUp() {
+        game = BenchmarkFixtures.startedGame(42);
+        state = BoardDealer.deal(BenchmarkFixtures.GAME_ID, game.getPlayers(), BenchmarkFixtures.MAP, new Random(42));
+    }
+
+    @Benchmark
+    public GameDTO toGameDTO() {
+        return GameDtoMapper.toGameDTO(game);
+    }
+
+    @Benchmark
+    public GameDTO toGameDTOWithLiveBoard() {
+        return GameDtoMapper.withLiveBoard(GameDtoMapper.toGameDTO(game), state, BenchmarkFixtures.MAP);
+    }
+}
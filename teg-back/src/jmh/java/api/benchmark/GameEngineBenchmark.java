@@ -0,0 +1,83 @@
+package api.benchmark;
+
+import api.engine.AttackResult;
+import api.engine.Battle;
+import api.engine.BoardDealer;
+import api.engine.GameState;
+import api.engine.WorldMap;
+import api.model.TurnPhase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Attack resolution and objective checks on a dealt six-player board. Each attack runs on a fresh
+ * copy of the board; {@link #copyBoard()} measures that copy alone.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class GameEngineBenchmark {
+
+    private static final WorldMap MAP = BenchmarkFixtures.MAP;
+
+    private GameState board;
+    private int from = -1;
+    private int to;
+    private final SplittableRandom random = new SplittableRandom(42);
+    private final AttackResult result = new AttackResult();
+
+    @Setup
+    public void setUp() {
+        board = BoardDealer.deal(BenchmarkFixtures.GAME_ID, BenchmarkFixtures.waitingGame().getPlayers(), MAP, new Random(42));
+        board.setTurn(0, 1, TurnPhase.ATTACK, 0);
+        // First country of slot 0 with a foreign neighbour
+        for (int country = 0; country < MAP.size() && from < 0; country++) {
+            long enemies = MAP.neighbours(country) & ~board.getTerritories(0);
+            if (board.getOwner(country) == 0 && enemies != 0) {
+                from = country;
+                to = Long.numberOfTrailingZeros(enemies);
+            }
+        }
+        board.setCountry(from, 0, 30);
+        board.setCountry(to, board.getOwner(to), 10);
+    }
+
+    @Benchmark
+    public GameState copyBoard() {
+        return board.copy();
+    }
+
+    @Benchmark
+    public AttackResult blitzAttack() {
+        Battle.resolve(board.copy(), 0, from, to, Integer.MAX_VALUE, 1, random, result);
+        return result;
+    }
+
+    @Benchmark
+    public void objectiveChecks(Blackhole blackhole) {
+        for (int slot = 0; slot < board.getPlayerCount(); slot++) {
+            blackhole.consume(board.isObjectiveAchieved(slot));
+        }
+    }
+
+    @Benchmark
+    public int reinforcements() {
+        return board.reinforcementsFor(0);
+    }
+}
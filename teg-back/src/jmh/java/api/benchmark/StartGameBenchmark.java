@@ -0,0 +1,45 @@
+package api.benchmark;
+
+import api.engine.BoardDealer;
+import api.engine.GameState;
+import api.model.GamePlayer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Country distribution and objective assignment done by {@code GameService.startGame}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class StartGameBenchmark {
+
+    private Set<GamePlayer> players;
+    private Random random;
+
+    @Setup
+    public void setUp() {
+        players = BenchmarkFixtures.waitingGame().getPlayers();
+        random = new Random(42);
+    }
+
+    @Benchmark
+    public GameState deal() {
+        return BoardDealer.deal(BenchmarkFixtures.GAME_ID, players, BenchmarkFixtures.MAP, random);
+    }
+}
@@ -0,0 +1,123 @@
+package api.loadtest;
+
+import api.engine.WorldMap;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Client-side copy of a game board, loaded from the started game and kept current from its
+ * GAME_EVENTS messages. The scripted moves are picked from it: reinforce the strongest frontline
+ * country, attack the weakest neighbour, and move troops from the rear to the front.
+ */
+final class Board {
+
+    private final WorldMap map;
+    private final long[] owners;
+    private final int[] troops;
+    private boolean finished;
+
+    Board(WorldMap map) {
+        this.map = map;
+        this.owners = new long[map.size()];
+        this.troops = new int[map.size()];
+    }
+
+    synchronized void load(JsonNode game) {
+        for (JsonNode player : game.path("players")) {
+            long playerId = player.path("user").path("id").asLong();
+            for (JsonNode country : player.path("countries")) {
+                int ordinal = map.ordinal(country.get("country").asText());
+                owners[ordinal] = playerId;
+                troops[ordinal] = country.get("troops").asInt();
+            }
+        }
+    }
+
+    synchronized void apply(JsonNode gameEvents) {
+        for (JsonNode event : gameEvents.path("events")) {
+            switch (event.path("type").asText()) {
+                case "OWNER_CHANGED" -> {
+                    int country = map.ordinal(event.get("country").asText());
+                    owners[country] = event.get("playerId").asLong();
+                    troops[country] = event.get("troops").asInt();
+                }
+                case "TROOPS_CHANGED" -> troops[map.ordinal(event.get("country").asText())] = event.get("troops").asInt();
+                case "GAME_FINISHED" -> finished = true;
+                default -> {
+                }
+            }
+        }
+    }
+
+    synchronized void finish() {
+        finished = true;
+    }
+
+    synchronized boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * The player's country with the most troops among those bordering an enemy.
+     */
+    synchronized String frontline(long player) {
+        int best = -1;
+        for (int country = 0; country < owners.length; country++) {
+            if (owners[country] == player && hasEnemyNeighbour(country, player)
+                    && (best < 0 || troops[country] > troops[best])) {
+                best = country;
+            }
+        }
+        return best < 0 ? null : map.id(best);
+    }
+
+    /**
+     * The attack with the largest troop advantage, as {@code [from, to]}, or {@code null} when the
+     * player has no country that can attack.
+     */
+    synchronized String[] attack(long player) {
+        int bestFrom = -1;
+        int bestTo = -1;
+        for (int from = 0; from < owners.length; from++) {
+            if (owners[from] != player || troops[from] < 2) {
+                continue;
+            }
+            for (long bits = map.neighbours(from); bits != 0; bits &= bits - 1) {
+                int to = Long.numberOfTrailingZeros(bits);
+                if (owners[to] != player && (bestFrom < 0
+                        || troops[from] - troops[to] > troops[bestFrom] - troops[bestTo])) {
+                    bestFrom = from;
+                    bestTo = to;
+                }
+            }
+        }
+        return bestFrom < 0 ? null : new String[]{map.id(bestFrom), map.id(bestTo)};
+    }
+
+    /**
+     * A one-troop move from a rear country to a bordering frontline country, as
+     * {@code [from, to]}, or {@code null} when there is none.
+     */
+    synchronized String[] fortify(long player) {
+        for (int from = 0; from < owners.length; from++) {
+            if (owners[from] != player || troops[from] < 2 || hasEnemyNeighbour(from, player)) {
+                continue;
+            }
+            for (long bits = map.neighbours(from); bits != 0; bits &= bits - 1) {
+                int to = Long.numberOfTrailingZeros(bits);
+                if (owners[to] == player && hasEnemyNeighbour(to, player)) {
+                    return new String[]{map.id(from), map.id(to)};
+                }
+            }
+        }
+        return null;
+    }
+
+    private boolean hasEnemyNeighbour(int country, long player) {
+        for (long bits = map.neighbours(country); bits != 0; bits &= bits - 1) {
+            if (owners[Long.numberOfTrailingZeros(bits)] != player) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
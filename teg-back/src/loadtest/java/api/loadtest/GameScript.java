@@ -0,0 +1,182 @@
+package api.loadtest;
+
+import api.engine.WorldMap;
+import api.websocket.Destinations;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plays one game from creation to the last scripted round. Actions are sent one at a time, like
+ * players taking turns, and each waits until every player received its STOMP result, which gives
+ * the delivery latency of the fan-out. A message arriving after the delivery timeout is counted as
+ * lost and may be credited to the next action of the same type.
+ */
+final class GameScript implements Runnable {
+
+    private static final Set<String> GAME_EVENTS = Set.of("GAME_EVENTS");
+    private static final Set<String> ATTACK_EVENTS = Set.of("GAME_EVENTS", "ATTACK_RESOLVED");
+    private static final int MAX_CONSECUTIVE_ERRORS = 5;
+
+    private final int index;
+    private final List<SyntheticPlayer> players;
+    private final TegClient client;
+    private final ObjectMapper mapper;
+    private final LoadTestConfig config;
+    private final LoadStats stats;
+    private final Board board;
+    private volatile Pending pending;
+    private Long gameId;
+    private JsonNode turn;
+    private int consecutiveErrors;
+
+    GameScript(int index, List<SyntheticPlayer> players, TegClient client, ObjectMapper mapper,
+               LoadTestConfig config, LoadStats stats, WorldMap map) {
+        this.index = index;
+        this.players = players;
+        this.client = client;
+        this.mapper = mapper;
+        this.config = config;
+        this.stats = stats;
+        this.board = new Board(map);
+    }
+
+    @Override
+    public void run() {
+        try {
+            setUp();
+            while (!board.isFinished() && turn.path("round").asInt() <= config.rounds()) {
+                playTurn(current());
+            }
+        } catch (RuntimeException e) {
+            System.err.printf("Game %d aborted: %s%n", index, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void setUp() throws InterruptedException {
+        SyntheticPlayer creator = players.get(0);
+        JsonNode game = client.post("create game", "/api/game/create", creator.token(),
+                Map.of("gameName", "load-" + index, "maxPlayers", players.size()));
+        gameId = game.get("id").asLong();
+        subscribe(creator);
+        for (SyntheticPlayer player : players.subList(1, players.size())) {
+            client.post("join game", "/api/game/join/" + gameId + "/" + player.id(), player.token(), Map.of());
+            subscribe(player);
+        }
+        board.load(act(creator, "start game", "/api/game/start/" + gameId + "/" + creator.id(), Map.of(),
+                Set.of("GAME_STARTED")));
+        turn = client.get("get turn", "/api/game/turn/" + gameId, creator.token());
+    }
+
+    private void subscribe(SyntheticPlayer player) {
+        player.subscribe(Destinations.lobby(gameId), this::onMessage);
+        player.subscribe(Destinations.game(gameId), this::onMessage);
+    }
+
+    private void playTurn(SyntheticPlayer player) throws InterruptedException {
+        String path = "/" + gameId + "/" + player.id();
+        try {
+            int pendingTroops = turn.path("pendingTroops").asInt();
+            if ("REINFORCE".equals(turn.path("phase").asText()) && pendingTroops > 0) {
+                turn = act(player, "reinforce", "/api/game/reinforce" + path,
+                        Map.of("country", board.frontline(player.id()), "troops", pendingTroops), GAME_EVENTS);
+            }
+            for (int i = 0; i < config.attacksPerTurn() && !board.isFinished(); i++) {
+                String[] attack = board.attack(player.id());
+                if (attack == null) {
+                    break;
+                }
+                JsonNode result = act(player, "attack", "/api/game/attack" + path,
+                        Map.of("from", attack[0], "to", attack[1], "blitz", false), ATTACK_EVENTS);
+                if (!result.path("winnerId").isNull() && !result.path("winnerId").isMissingNode()) {
+                    board.finish();
+                }
+            }
+            String[] move = board.fortify(player.id());
+            if (move != null && !board.isFinished()) {
+                turn = act(player, "fortify", "/api/game/fortify" + path,
+                        Map.of("from", move[0], "to", move[1], "troops", 1), GAME_EVENTS);
+            }
+            if (!board.isFinished()) {
+                turn = act(player, "end turn", "/api/game/end-turn" + path, Map.of(), GAME_EVENTS);
+            }
+            consecutiveErrors = 0;
+        } catch (RuntimeException e) {
+            // A stale board can lead to a refused move; resync the turn and go on
+            if (++consecutiveErrors >= MAX_CONSECUTIVE_ERRORS) {
+                throw e;
+            }
+            turn = client.get("get turn", "/api/game/turn/" + gameId, player.token());
+        }
+    }
+
+    private SyntheticPlayer current() {
+        long currentId = turn.path("currentPlayerId").asLong();
+        return players.stream()
+                .filter(player -> player.id() == currentId)
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException("Unknown current player " + currentId));
+    }
+
+    private JsonNode act(SyntheticPlayer player, String operation, String path, Map<String, ?> body,
+                         Set<String> types) throws InterruptedException {
+        if (!config.thinkTime().isZero()) {
+            Thread.sleep(config.thinkTime().toMillis());
+        }
+        Pending action = new Pending(types, types.size() * players.size());
+        pending = action;
+        JsonNode result;
+        try {
+            result = client.post(operation, path, player.token(), body);
+        } catch (RuntimeException e) {
+            pending = null;
+            throw e;
+        }
+        stats.action();
+        if (!action.latch.await(config.deliveryTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+            stats.lostDeliveries(action.latch.getCount());
+        }
+        pending = null;
+        return result;
+    }
+
+    private void onMessage(SyntheticPlayer player, byte[] payload) {
+        stats.message(payload.length);
+        JsonNode envelope;
+        try {
+            envelope = mapper.readTree(payload);
+        } catch (IOException e) {
+            stats.stompError();
+            return;
+        }
+        String type = envelope.path("type").asText();
+        // The creator's copy of the stream keeps the board; the other players only count deliveries
+        if (player == players.get(0) && "GAME_EVENTS".equals(type)) {
+            board.apply(envelope.path("payload"));
+        }
+        Pending action = pending;
+        if (action != null && action.types.contains(type) && action.latch.getCount() > 0) {
+            stats.delivery(System.nanoTime() - action.start);
+            action.latch.countDown();
+        }
+    }
+
+    private static final class Pending {
+        private final Set<String> types;
+        private final CountDownLatch latch;
+        private final long start = System.nanoTime();
+
+        Pending(Set<String> types, int deliveries) {
+            this.types = types;
+            this.latch = new CountDownLatch(deliveries);
+        }
+    }
+}
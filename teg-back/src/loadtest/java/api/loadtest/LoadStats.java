@@ -0,0 +1,100 @@
+package api.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms and counters shared by every synthetic player. Latencies are kept in
+ * microseconds in auto-resizing HDR histograms, so p99.9 stays exact under any load.
+ */
+final class LoadStats {
+
+    static final String DELIVERY = "stomp delivery";
+
+    private final Map<String, Operation> operations = new ConcurrentHashMap<>();
+    private final LongAdder actions = new LongAdder();
+    private final LongAdder messages = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder lostDeliveries = new LongAdder();
+    private final LongAdder stompErrors = new LongAdder();
+
+    void record(String operation, long nanos, boolean success) {
+        operations.computeIfAbsent(operation, name -> new Operation()).record(nanos, success);
+    }
+
+    /**
+     * A game action answered by the backend, the unit of throughput.
+     */
+    void action() {
+        actions.increment();
+    }
+
+    /**
+     * A STOMP message received by a player, whether or not an action was waiting for it.
+     */
+    void message(int size) {
+        messages.increment();
+        bytes.add(size);
+    }
+
+    /**
+     * Time from the start of an action to the moment one of its subscribers received the result.
+     */
+    void delivery(long nanos) {
+        record(DELIVERY, nanos, true);
+    }
+
+    void lostDeliveries(long count) {
+        lostDeliveries.add(count);
+    }
+
+    void stompError() {
+        stompErrors.increment();
+    }
+
+    void report(PrintStream out, Duration elapsed) {
+        double seconds = Math.max(elapsed.toMillis(), 1) / 1000.0;
+        out.printf("%n%-22s %9s %7s %9s %9s %9s %9s%n", "operation", "count", "errors", "p50 ms", "p99 ms",
+                "p99.9 ms", "max ms");
+        new TreeMap<>(operations).forEach((name, operation) -> {
+            Histogram histogram = operation.latencies;
+            out.printf("%-22s %9d %7d %9.2f %9.2f %9.2f %9.2f%n", name, histogram.getTotalCount(),
+                    operation.errors.sum(), millis(histogram, 50), millis(histogram, 99), millis(histogram, 99.9),
+                    histogram.getMaxValue() / 1000.0);
+        });
+        long actionCount = actions.sum();
+        long messageCount = messages.sum();
+        out.printf("%nplay time               %.1f s%n", seconds);
+        out.printf("actions                 %d (%.1f/s)%n", actionCount, actionCount / seconds);
+        out.printf("messages received       %d (%.1f/s, %.1f KiB/s)%n", messageCount, messageCount / seconds,
+                bytes.sum() / 1024.0 / seconds);
+        out.printf("fan-out                 %.2f messages per action%n",
+                actionCount == 0 ? 0.0 : (double) messageCount / actionCount);
+        out.printf("lost deliveries         %d%n", lostDeliveries.sum());
+        out.printf("stomp errors            %d%n", stompErrors.sum());
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static final class Operation {
+        private final Histogram latencies = new ConcurrentHistogram(3);
+        private final LongAdder errors = new LongAdder();
+
+        void record(long nanos, boolean success) {
+            latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(nanos));
+            if (!success) {
+                errors.increment();
+            }
+        }
+    }
+}
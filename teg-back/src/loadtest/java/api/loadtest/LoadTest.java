@@ -0,0 +1,109 @@
+package api.loadtest;
+
+import api.engine.WorldMap;
+import api.websocket.Destinations;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.websocket.ContainerProvider;
+import jakarta.websocket.WebSocketContainer;
+import org.springframework.messaging.converter.SimpleMessageConverter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Load generator for a running backend. Logs in {@code --users} synthetic users, connects each one
+ * to {@code /ws/game}, groups them in games of {@code --players}, and plays {@code --rounds}
+ * scripted rounds in every game at once. Prints per-operation latency percentiles, throughput and
+ * STOMP fan-out at the end. See docs/load-testing.md.
+ */
+public final class LoadTest {
+
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(30);
+    // The lobby games list grows with every open game; Tomcat's client closes above 8 KiB by default
+    private static final int MAX_MESSAGE_SIZE = 1024 * 1024;
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        ObjectMapper mapper = new ObjectMapper();
+        LoadStats stats = new LoadStats();
+        TegClient client = new TegClient(config.baseUrl(), mapper, stats);
+        WorldMap map = WorldMap.loadDefault();
+        System.out.printf("Load test against %s: %d users, %d games of %d players, %d rounds%n",
+                config.baseUrl(), config.users(), config.games(), config.playersPerGame(), config.rounds());
+
+        ThreadPoolTaskScheduler heartbeats = new ThreadPoolTaskScheduler();
+        heartbeats.setPoolSize(2);
+        heartbeats.setThreadNamePrefix("load-heartbeat-");
+        heartbeats.initialize();
+        WebSocketContainer container = ContainerProvider.getWebSocketContainer();
+        container.setDefaultMaxTextMessageBufferSize(MAX_MESSAGE_SIZE);
+        container.setDefaultMaxBinaryMessageBufferSize(MAX_MESSAGE_SIZE);
+        WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient(container));
+        stompClient.setInboundMessageSizeLimit(MAX_MESSAGE_SIZE);
+        stompClient.setMessageConverter(new SimpleMessageConverter());
+        stompClient.setTaskScheduler(heartbeats);
+
+        List<SyntheticPlayer> players = new ArrayList<>(config.users());
+        for (int i = 0; i < config.users(); i++) {
+            players.add(new SyntheticPlayer(String.format("%s%05d", config.userPrefix(), i), stats));
+        }
+        try {
+            long setUpStart = System.nanoTime();
+            runAll(config.loginConcurrency(), players.stream().map(player -> (Callable<Void>) () -> {
+                player.authenticate(client, config.password());
+                player.connect(stompClient, config.webSocketUrl(), CONNECT_TIMEOUT);
+                if (config.lobbySubscribe()) {
+                    player.subscribe(Destinations.LOBBY, (subscriber, payload) -> stats.message(payload.length));
+                }
+                return null;
+            }).toList());
+            System.out.printf("%d users connected in %d ms%n", players.size(),
+                    Duration.ofNanos(System.nanoTime() - setUpStart).toMillis());
+
+            List<Callable<Void>> games = new ArrayList<>(config.games());
+            for (int game = 0; game < config.games(); game++) {
+                int from = game * config.playersPerGame();
+                GameScript script = new GameScript(game, players.subList(from, from + config.playersPerGame()),
+                        client, mapper, config, stats, map);
+                games.add(() -> {
+                    script.run();
+                    return null;
+                });
+            }
+            long playStart = System.nanoTime();
+            runAll(games.size(), games);
+            stats.report(System.out, Duration.ofNanos(System.nanoTime() - playStart));
+        } finally {
+            players.forEach(SyntheticPlayer::disconnect);
+            stompClient.stop();
+            heartbeats.shutdown();
+        }
+    }
+
+    private static void runAll(int threads, List<Callable<Void>> tasks) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Load test set-up failed", e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package api.loadtest;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Options of a load test run, given as {@code --name=value} arguments. Every option has a default
+ * sized for a laptop run against a local backend.
+ */
+record LoadTestConfig(
+        URI baseUrl,
+        int users,
+        int playersPerGame,
+        int rounds,
+        int attacksPerTurn,
+        Duration thinkTime,
+        Duration deliveryTimeout,
+        int loginConcurrency,
+        String userPrefix,
+        String password,
+        boolean lobbySubscribe
+) {
+
+    static LoadTestConfig parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --option=value but got " + arg);
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        LoadTestConfig config = new LoadTestConfig(
+                URI.create(options.getOrDefault("url", "http://localhost:8080")),
+                Integer.parseInt(options.getOrDefault("users", "200")),
+                Integer.parseInt(options.getOrDefault("players", "4")),
+                Integer.parseInt(options.getOrDefault("rounds", "10")),
+                Integer.parseInt(options.getOrDefault("attacks", "2")),
+                Duration.ofMillis(Long.parseLong(options.getOrDefault("think-ms", "0"))),
+                Duration.ofMillis(Long.parseLong(options.getOrDefault("delivery-timeout-ms", "5000"))),
+                Integer.parseInt(options.getOrDefault("login-concurrency", "16")),
+                options.getOrDefault("user-prefix", "load"),
+                options.getOrDefault("password", "loadtest"),
+                Boolean.parseBoolean(options.getOrDefault("lobby", "true")));
+        if (config.playersPerGame < 2 || config.playersPerGame > 6) {
+            throw new IllegalArgumentException("--players must be between 2 and 6");
+        }
+        if (config.users < config.playersPerGame) {
+            throw new IllegalArgumentException("--users must be at least --players");
+        }
+        return config;
+    }
+
+    int games() {
+        return users / playersPerGame;
+    }
+
+    URI webSocketUrl() {
+        String scheme = "https".equals(baseUrl.getScheme()) ? "wss" : "ws";
+        return URI.create(scheme + "://" + baseUrl.getAuthority() + "/ws/game");
+    }
+}
@@ -0,0 +1,131 @@
+package api.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
+
+/**
+ * One synthetic user: its account, JWT and STOMP session. Users are logged in when they already
+ * exist and registered otherwise, so runs can be repeated against the same database.
+ */
+final class SyntheticPlayer {
+
+    private final String username;
+    private final LoadStats stats;
+    private Long id;
+    private String token;
+    private StompSession session;
+    private volatile boolean disconnecting;
+
+    SyntheticPlayer(String username, LoadStats stats) {
+        this.username = username;
+        this.stats = stats;
+    }
+
+    Long id() {
+        return id;
+    }
+
+    String token() {
+        return token;
+    }
+
+    void authenticate(TegClient client, String password) {
+        JsonNode auth = client.tryPost("login", "/api/auth/login", null,
+                Map.of("usernameOrEmail", username, "password", password));
+        if (auth == null) {
+            auth = client.post("register", "/api/auth/register", null,
+                    Map.of("username", username, "email", username + "@load.teg", "password", password));
+        }
+        id = auth.get("id").asLong();
+        token = auth.get("token").asText();
+    }
+
+    void connect(WebSocketStompClient stompClient, URI url, Duration timeout) {
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.add("Authorization", "Bearer " + token);
+        long start = System.nanoTime();
+        try {
+            session = stompClient.connectAsync(url.toString(), new WebSocketHttpHeaders(), connectHeaders,
+                    new SessionHandler()).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            stats.record("stomp connect", System.nanoTime() - start, true);
+        } catch (ExecutionException | TimeoutException e) {
+            stats.record("stomp connect", System.nanoTime() - start, false);
+            throw new RuntimeException("STOMP connect failed for " + username, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("STOMP connect interrupted", e);
+        }
+    }
+
+    void subscribe(String destination, BiConsumer<SyntheticPlayer, byte[]> listener) {
+        session.subscribe(destination, new StompFrameHandler() {
+            @Override
+            @NonNull
+            public Type getPayloadType(@NonNull StompHeaders headers) {
+                return byte[].class;
+            }
+
+            @Override
+            public void handleFrame(@NonNull StompHeaders headers, Object payload) {
+                listener.accept(SyntheticPlayer.this, (byte[]) payload);
+            }
+        });
+    }
+
+    void disconnect() {
+        disconnecting = true;
+        if (session != null && session.isConnected()) {
+            session.disconnect();
+        }
+    }
+
+    private class SessionHandler extends StompSessionHandlerAdapter {
+
+        @Override
+        @NonNull
+        public Type getPayloadType(@NonNull StompHeaders headers) {
+            return byte[].class;
+        }
+
+        // Only ERROR frames reach the session handler, e.g. a refused subscription
+        @Override
+        public void handleFrame(@NonNull StompHeaders headers, Object payload) {
+            if (disconnecting) {
+                return;
+            }
+            stats.stompError();
+            System.err.printf("STOMP error for %s: %s%n", username, headers.getFirst("message"));
+        }
+
+        @Override
+        public void handleException(@NonNull StompSession session, StompCommand command, @NonNull StompHeaders headers,
+                                    @NonNull byte[] payload, @NonNull Throwable exception) {
+            stats.stompError();
+        }
+
+        @Override
+        public void handleTransportError(@NonNull StompSession session, @NonNull Throwable exception) {
+            if (disconnecting) {
+                return;
+            }
+            stats.stompError();
+            System.err.printf("STOMP transport error for %s: %s%n", username, exception.getMessage());
+        }
+    }
+}
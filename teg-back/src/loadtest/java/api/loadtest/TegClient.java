@@ -0,0 +1,103 @@
+package api.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Minimal JSON client for the REST API. Every call is timed under its operation name; responses
+ * other than 2xx are counted as errors and raised as {@link RuntimeException}s, like the backend
+ * reports them.
+ */
+final class TegClient {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final ObjectMapper mapper;
+    private final URI baseUrl;
+    private final LoadStats stats;
+
+    TegClient(URI baseUrl, ObjectMapper mapper, LoadStats stats) {
+        this.baseUrl = baseUrl;
+        this.mapper = mapper;
+        this.stats = stats;
+    }
+
+    JsonNode get(String operation, String path, String token) {
+        return send(operation, request(path, token).GET().build(), false);
+    }
+
+    JsonNode post(String operation, String path, String token, Map<String, ?> body) {
+        return send(operation, request(path, token).POST(json(body)).build(), false);
+    }
+
+    /**
+     * Posts and returns {@code null} on a 4xx answer instead of failing, for calls that are
+     * expected to be refused, such as logging in a user that was never registered.
+     */
+    JsonNode tryPost(String operation, String path, String token, Map<String, ?> body) {
+        return send(operation, request(path, token).POST(json(body)).build(), true);
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUrl.resolve(path))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private HttpRequest.BodyPublisher json(Map<String, ?> body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize request body", e);
+        }
+    }
+
+    private JsonNode send(String operation, HttpRequest request, boolean clientErrorExpected) {
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response;
+        try {
+            response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            stats.record(operation, System.nanoTime() - start, false);
+            throw new UncheckedIOException(operation + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(operation + " interrupted", e);
+        }
+        int status = response.statusCode();
+        boolean expected = clientErrorExpected && status >= 400 && status < 500;
+        stats.record(operation, System.nanoTime() - start, status < 300 || expected);
+        if (expected) {
+            return null;
+        }
+        if (status >= 300) {
+            throw new RuntimeException(operation + " failed with " + status + ": "
+                    + new String(response.body(), StandardCharsets.UTF_8));
+        }
+        try {
+            return response.body().length == 0 ? mapper.nullNode() : mapper.readTree(response.body());
+        } catch (IOException e) {
+            throw new UncheckedIOException(operation + " returned invalid JSON", e);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package api.actor;
+
+import api.exception.ServiceUnavailableException;
+import api.metrics.QueryCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * One lightweight actor per game: commands sent to a game are queued in its mailbox and run one
+ * at a time, in arrival order, while the mailboxes of different games are drained in parallel on
+ * a shared pool. A command sees every change of the commands before it, so checks such as free
+ * seats or free colours cannot race, without locking rows in the database.
+ * <p>
+ * Mailboxes only exist while they hold commands. A game's mailbox is created, scheduled and
+ * removed inside {@link ConcurrentHashMap#compute} on its key, so a game never has two of them.
+ */
+@Component
+@Slf4j
+public class GameActors implements DisposableBean {
+
+    // Commands one mailbox may run before yielding its thread to other games
+    private static final int THROUGHPUT = 16;
+
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    private final ConcurrentHashMap<Long, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    // Game whose mailbox the current thread is draining, so that nested commands run inline
+    private final ThreadLocal<Long> currentGame = new ThreadLocal<>();
+    private final long askTimeoutMs;
+    private final QueryCounter queryCounter;
+
+    private final class Mailbox implements Runnable {
+        private final Long gameId;
+        private final Queue<Runnable> commands = new ConcurrentLinkedQueue<>();
+        // Only read and written inside mailboxes.compute for this game
+        private boolean scheduled;
+
+        private Mailbox(Long gameId) {
+            this.gameId = gameId;
+        }
+
+        @Override
+        public void run() {
+            currentGame.set(gameId);
+            try {
+                for (int i = 0; i < THROUGHPUT; i++) {
+                    Runnable command = commands.poll();
+                    if (command == null) {
+                        break;
+                    }
+                    command.run();
+                }
+            } finally {
+                currentGame.remove();
+                mailboxes.compute(gameId, (id, mailbox) -> {
+                    if (commands.isEmpty()) {
+                        scheduled = false;
+                        return null;
+                    }
+                    executor.execute(this);
+                    return mailbox;
+                });
+            }
+        }
+    }
+
+    public GameActors(
+            @Value("${teg.actors.threads:0}") int threads,
+            @Value("${teg.actors.ask-timeout-ms:10000}") long askTimeoutMs,
+            QueryCounter queryCounter,
+            MeterRegistry meterRegistry
+    ) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setThreadNamePrefix("game-actor-");
+        executor.initialize();
+        this.askTimeoutMs = askTimeoutMs;
+        this.queryCounter = queryCounter;
+
+        Gauge.builder("teg.actors.mailboxes", mailboxes, ConcurrentHashMap::size)
+                .description("Games with commands queued or running")
+                .register(meterRegistry);
+        Gauge.builder("teg.actors.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code command} on the game's actor and waits for its result. Exceptions thrown by the
+     * command are rethrown as they are. A command that has not started after the ask timeout is
+     * cancelled and a {@link ServiceUnavailableException} is thrown instead; one that already
+     * started is always waited for, so the caller never sees a failure for a command that ran.
+     * The SQL statements the command ran are credited to the caller's {@link QueryCounter}, so
+     * per-request query counts still cover game commands.
+     */
+    public <T> T ask(Long gameId, Supplier<T> command) {
+        if (gameId.equals(currentGame.get())) {
+            return command.get();
+        }
+        Command<T> queued = new Command<>(command, queryCounter);
+        enqueue(gameId, queued);
+        try {
+            return await(gameId, queued);
+        } finally {
+            // Zero unless the command ran, and then written before its result was completed
+            queryCounter.add(queued.queries);
+        }
+    }
+
+    private <T> T await(Long gameId, Command<T> queued) {
+        try {
+            return queued.result.get(askTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (queued.cancel()) {
+                log.warn("Command for game {} not started within {} ms", gameId, askTimeoutMs);
+                throw new ServiceUnavailableException("The game is busy, try again later");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (queued.cancel()) {
+                throw new ServiceUnavailableException("Interrupted while waiting for the game");
+            }
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        }
+        // The command already started: its outcome is the answer
+        try {
+            return queued.result.join();
+        } catch (CompletionException e) {
+            throw rethrow(e.getCause());
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return cause instanceof RuntimeException runtime ? runtime : new RuntimeException(cause);
+    }
+
+    /**
+     * A command waiting in a mailbox. It runs only if it moves from QUEUED to RUNNING, and it can
+     * only be cancelled while still QUEUED, so a command either runs to completion or never runs.
+     */
+    private static final class Command<T> implements Runnable {
+        private static final int QUEUED = 0;
+        private static final int RUNNING = 1;
+        private static final int DONE = 2;
+        private static final int CANCELLED = 3;
+
+        private final Supplier<T> body;
+        private final QueryCounter queryCounter;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final AtomicInteger state = new AtomicInteger(QUEUED);
+        // SQL statements the command ran, published to the caller by completing the result
+        private int queries;
+
+        private Command(Supplier<T> body, QueryCounter queryCounter) {
+            this.body = body;
+            this.queryCounter = queryCounter;
+        }
+
+        @Override
+        public void run() {
+            if (!state.compareAndSet(QUEUED, RUNNING)) {
+                return;
+            }
+            int before = queryCounter.current();
+            try {
+                T value = body.get();
+                queries = queryCounter.current() - before;
+                result.complete(value);
+            } catch (Throwable e) {
+                queries = queryCounter.current() - before;
+                result.completeExceptionally(e);
+            } finally {
+                state.set(DONE);
+            }
+        }
+
+        private boolean cancel() {
+            return state.compareAndSet(QUEUED, CANCELLED);
+        }
+    }
+
+    private void enqueue(Long gameId, Runnable command) {
+        mailboxes.compute(gameId, (id, existing) -> {
+            Mailbox mailbox = existing != null ? existing : new Mailbox(id);
+            mailbox.commands.add(command);
+            if (!mailbox.scheduled) {
+                mailbox.scheduled = true;
+                executor.execute(mailbox);
+            }
+            return mailbox;
+        });
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,56 @@
+package api.bot;
+
+import api.engine.GameState;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * One decision a bot can take, by country ordinal. {@link #apply} plays it on a copy of the board
+ * during the search; the chosen move is then sent through the regular game services.
+ */
+public record BotMove(Type type, int from, int to, int troops) {
+
+    public enum Type {
+        REINFORCE,
+        ATTACK,
+        FORTIFY,
+        PASS
+    }
+
+    private static final BotMove PASS = new BotMove(Type.PASS, -1, -1, 0);
+
+    public static BotMove reinforce(int country, int troops) {
+        return new BotMove(Type.REINFORCE, -1, country, troops);
+    }
+
+    public static BotMove attack(int from, int to) {
+        return new BotMove(Type.ATTACK, from, to, 0);
+    }
+
+    public static BotMove fortify(int from, int to, int troops) {
+        return new BotMove(Type.FORTIFY, from, to, troops);
+    }
+
+    public static BotMove pass() {
+        return PASS;
+    }
+
+    /**
+     * Whether the player's turn is over after this move: passing on attacks and fortifying are the
+     * last decisions of a turn.
+     */
+    public boolean endsTurn() {
+        return type == Type.PASS || type == Type.FORTIFY;
+    }
+
+    void apply(GameState state, RandomGenerator random) {
+        int slot = state.getCurrentSlot();
+        switch (type) {
+            case REINFORCE -> state.placeTroops(slot, to, troops);
+            case ATTACK -> BotPolicy.attack(state, slot, from, to, random);
+            case FORTIFY -> state.fortify(slot, from, to, troops);
+            case PASS -> {
+            }
+        }
+    }
+}
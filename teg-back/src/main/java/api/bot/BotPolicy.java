@@ -0,0 +1,256 @@
+package api.bot;
+
+import api.engine.AttackResult;
+import api.engine.Battle;
+import api.engine.GameState;
+import api.engine.WorldMap;
+import api.model.Continent;
+import api.model.TurnPhase;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * The game knowledge of the bots: which moves are worth searching, the cheap policy used to play
+ * out the following turns, and how a board is scored for a player. Everything runs on
+ * {@link GameState} copies with the real rules, so playouts cannot drift from the engine.
+ */
+public final class BotPolicy {
+
+    private static final int PLAYOUT_ATTACKS = 3;
+    private static final double COUNTRIES_WEIGHT = 0.45;
+    private static final double TROOPS_WEIGHT = 0.35;
+    private static final double CONTINENTS_WEIGHT = 0.2;
+
+    private BotPolicy() {
+    }
+
+    // Candidates, best first by a static estimate, so the head is a sound move without search
+
+    /**
+     * Placing every pending troop on one frontline country, most threatened first.
+     */
+    public static List<BotMove> reinforcements(GameState state, int limit) {
+        int slot = state.getCurrentSlot();
+        List<Integer> countries = frontline(state, slot);
+        if (countries.isEmpty()) {
+            countries = owned(state, slot);
+        }
+        countries.sort(Comparator.comparingInt((Integer country) -> threat(state, slot, country)).reversed());
+        List<BotMove> moves = new ArrayList<>(Math.min(limit, countries.size()));
+        for (int country : countries.subList(0, Math.min(limit, countries.size()))) {
+            moves.add(BotMove.reinforce(country, state.getPendingTroops()));
+        }
+        return moves;
+    }
+
+    /**
+     * Every legal attack by troop advantage, plus passing. Passing leads when no attack has the
+     * upper hand.
+     */
+    public static List<BotMove> attacks(GameState state, int limit) {
+        int slot = state.getCurrentSlot();
+        WorldMap map = state.getMap();
+        List<BotMove> attacks = new ArrayList<>();
+        for (long own = state.getTerritories(slot); own != 0; own &= own - 1) {
+            int from = Long.numberOfTrailingZeros(own);
+            if (state.getTroops(from) < 2) {
+                continue;
+            }
+            for (long bits = map.neighbours(from) & ~state.getTerritories(slot); bits != 0; bits &= bits - 1) {
+                attacks.add(BotMove.attack(from, Long.numberOfTrailingZeros(bits)));
+            }
+        }
+        attacks.sort(Comparator.comparingInt((BotMove move) -> advantage(state, move)).reversed());
+        List<BotMove> moves = new ArrayList<>(attacks.subList(0, Math.min(limit, attacks.size())));
+        if (moves.isEmpty() || advantage(state, moves.get(0)) <= 1) {
+            moves.add(0, BotMove.pass());
+        } else {
+            moves.add(BotMove.pass());
+        }
+        return moves;
+    }
+
+    /**
+     * Passing, or moving all but one troop from an interior country to the most threatened
+     * frontline country it can reach.
+     */
+    public static List<BotMove> fortifications(GameState state, int limit) {
+        int slot = state.getCurrentSlot();
+        long territories = state.getTerritories(slot);
+        List<Integer> frontline = frontline(state, slot);
+        frontline.sort(Comparator.comparingInt((Integer country) -> threat(state, slot, country)).reversed());
+        List<BotMove> moves = new ArrayList<>();
+        moves.add(BotMove.pass());
+        for (long own = territories; own != 0 && moves.size() <= limit; own &= own - 1) {
+            int from = Long.numberOfTrailingZeros(own);
+            if (state.getTroops(from) < 2 || hasEnemyNeighbour(state, slot, from)) {
+                continue;
+            }
+            for (int to : frontline) {
+                if (state.getMap().canReach(from, to, territories)) {
+                    moves.add(BotMove.fortify(from, to, state.getTroops(from) - 1));
+                    break;
+                }
+            }
+        }
+        return moves;
+    }
+
+    // Playouts
+
+    /**
+     * Finishes the current turn, unless {@code continueTurn} is false, then plays {@code turns}
+     * more turns with the default policy, or until someone wins.
+     */
+    static void playout(GameState state, int turns, boolean continueTurn, RandomGenerator random) {
+        if (state.isFinished()) {
+            return;
+        }
+        AttackResult result = new AttackResult();
+        if (continueTurn) {
+            playTurn(state, random, result);
+        } else {
+            state.endTurn(state.getCurrentSlot());
+        }
+        for (int turn = 0; turn < turns && !state.isFinished(); turn++) {
+            playTurn(state, random, result);
+        }
+    }
+
+    private static void playTurn(GameState state, RandomGenerator random, AttackResult result) {
+        int slot = state.getCurrentSlot();
+        if (state.getPhase() == TurnPhase.REINFORCE && state.getPendingTroops() > 0) {
+            state.placeTroops(slot, randomCountry(state, slot, random, true), state.getPendingTroops());
+        }
+        for (int i = 0; i < PLAYOUT_ATTACKS && state.getPhase() == TurnPhase.ATTACK; i++) {
+            int[] attack = randomAttack(state, slot, random);
+            if (attack == null) {
+                break;
+            }
+            Battle.resolve(state, slot, attack[0], attack[1], Integer.MAX_VALUE, 1, random, result);
+            if (result.isConquered() && state.isObjectiveAchieved(slot)) {
+                state.declareWinner(slot);
+                return;
+            }
+        }
+        state.endTurn(slot);
+    }
+
+    static void attack(GameState state, int slot, int from, int to, RandomGenerator random) {
+        AttackResult result = new AttackResult();
+        Battle.resolve(state, slot, from, to, Integer.MAX_VALUE, 1, random, result);
+        if (result.isConquered() && state.isObjectiveAchieved(slot)) {
+            state.declareWinner(slot);
+        }
+    }
+
+    /**
+     * Score of the board for {@code slot} between 0 (eliminated or lost) and 1 (won): its share of
+     * countries and troops and the continents it holds.
+     */
+    static double evaluate(GameState state, int slot) {
+        if (state.isFinished()) {
+            return state.getWinner() == slot ? 1.0 : 0.0;
+        }
+        if (!state.getTracker().isAlive(slot)) {
+            return 0.0;
+        }
+        int ownTroops = 0;
+        int allTroops = 0;
+        for (int country = 0; country < state.getCountryCount(); country++) {
+            allTroops += state.getTroops(country);
+            if (state.getOwner(country) == slot) {
+                ownTroops += state.getTroops(country);
+            }
+        }
+        return COUNTRIES_WEIGHT * state.countCountries(slot) / state.getCountryCount()
+                + TROOPS_WEIGHT * ownTroops / Math.max(1, allTroops)
+                + CONTINENTS_WEIGHT * state.getTracker().completedContinents(slot) / Continent.values().length;
+    }
+
+    // Board helpers
+
+    private static int randomCountry(GameState state, int slot, RandomGenerator random, boolean frontline) {
+        long candidates = state.getTerritories(slot);
+        if (frontline) {
+            long front = 0;
+            for (long own = candidates; own != 0; own &= own - 1) {
+                int country = Long.numberOfTrailingZeros(own);
+                if (hasEnemyNeighbour(state, slot, country)) {
+                    front |= 1L << country;
+                }
+            }
+            if (front != 0) {
+                candidates = front;
+            }
+        }
+        int pick = random.nextInt(Long.bitCount(candidates));
+        for (int i = 0; i < pick; i++) {
+            candidates &= candidates - 1;
+        }
+        return Long.numberOfTrailingZeros(candidates);
+    }
+
+    /**
+     * A random attack with more troops than the defender, or {@code null} when there is none.
+     */
+    private static int[] randomAttack(GameState state, int slot, RandomGenerator random) {
+        int size = state.getCountryCount();
+        int start = random.nextInt(size);
+        long enemies = ~state.getTerritories(slot);
+        for (int i = 0; i < size; i++) {
+            int from = (start + i) % size;
+            if (state.getOwner(from) != slot || state.getTroops(from) < 2) {
+                continue;
+            }
+            for (long bits = state.getMap().neighbours(from) & enemies; bits != 0; bits &= bits - 1) {
+                int to = Long.numberOfTrailingZeros(bits);
+                if (state.getTroops(from) > state.getTroops(to)) {
+                    return new int[]{from, to};
+                }
+            }
+        }
+        return null;
+    }
+
+    private static List<Integer> frontline(GameState state, int slot) {
+        List<Integer> countries = new ArrayList<>();
+        for (long own = state.getTerritories(slot); own != 0; own &= own - 1) {
+            int country = Long.numberOfTrailingZeros(own);
+            if (hasEnemyNeighbour(state, slot, country)) {
+                countries.add(country);
+            }
+        }
+        return countries;
+    }
+
+    private static List<Integer> owned(GameState state, int slot) {
+        List<Integer> countries = new ArrayList<>();
+        for (long own = state.getTerritories(slot); own != 0; own &= own - 1) {
+            countries.add(Long.numberOfTrailingZeros(own));
+        }
+        return countries;
+    }
+
+    private static boolean hasEnemyNeighbour(GameState state, int slot, int country) {
+        return (state.getMap().neighbours(country) & ~state.getTerritories(slot)) != 0;
+    }
+
+    /**
+     * Strongest bordering enemy minus the troops on the country.
+     */
+    private static int threat(GameState state, int slot, int country) {
+        int strongest = 0;
+        for (long bits = state.getMap().neighbours(country) & ~state.getTerritories(slot); bits != 0; bits &= bits - 1) {
+            strongest = Math.max(strongest, state.getTroops(Long.numberOfTrailingZeros(bits)));
+        }
+        return strongest - state.getTroops(country);
+    }
+
+    private static int advantage(GameState state, BotMove attack) {
+        return state.getTroops(attack.from()) - state.getTroops(attack.to());
+    }
+}
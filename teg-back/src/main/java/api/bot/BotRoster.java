@@ -0,0 +1,85 @@
+package api.bot;
+
+import api.model.PlayerColor;
+import api.model.User;
+import api.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The bot accounts seated in games. They are regular users flagged as bots, created once at
+ * startup, inactive and with a password nobody knows, so they can hold seats but never log in.
+ * Their ids are cached, which keeps {@link #isBot} cheap enough for the engine's event path.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BotRoster {
+
+    // Every seat of a full game but the creator's
+    private static final int BOT_COUNT = PlayerColor.values().length - 1;
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final Set<Long> botIds = ConcurrentHashMap.newKeySet();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void provision() {
+        try {
+            createMissingBots();
+        } catch (DataIntegrityViolationException e) {
+            // Another node created them at the same time
+            log.debug("Bot users were created concurrently: {}", e.getMessage());
+        }
+        userRepository.findByIsBotTrueOrderById().forEach(bot -> botIds.add(bot.getId()));
+        log.info("{} bot users available", botIds.size());
+    }
+
+    public boolean isBot(long userId) {
+        return botIds.contains(userId);
+    }
+
+    /**
+     * Returns up to {@code count} bot users that are not in {@code excluded}.
+     */
+    public List<User> pick(int count, Set<Long> excluded) {
+        List<User> bots = userRepository.findByIsBotTrueOrderById();
+        bots.forEach(bot -> botIds.add(bot.getId()));
+        return bots.stream()
+                .filter(bot -> !excluded.contains(bot.getId()))
+                .limit(count)
+                .toList();
+    }
+
+    private void createMissingBots() {
+        int missing = BOT_COUNT - userRepository.findByIsBotTrueOrderById().size();
+        for (int number = 1; missing > 0; number++) {
+            String username = "Bot " + number;
+            String email = "bot" + number + "@bots.teg";
+            if (userRepository.existsByUsername(username) || userRepository.existsByEmail(email)) {
+                continue;
+            }
+            userRepository.save(User.builder()
+                    .username(username)
+                    .email(email)
+                    .password(passwordEncoder.encode(UUID.randomUUID().toString()))
+                    .gamesPlayed(0)
+                    .gamesWon(0)
+                    .gamesLost(0)
+                    .isActive(false)
+                    .isBot(true)
+                    .build());
+            missing--;
+        }
+    }
+}
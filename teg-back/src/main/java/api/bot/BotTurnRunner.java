@@ -0,0 +1,249 @@
+package api.bot;
+
+import api.dto.AttackResultDTO;
+import api.dto.LobbyEvent;
+import api.engine.GameDelta;
+import api.engine.GameDeltasEvent;
+import api.engine.GameEngine;
+import api.engine.GameState;
+import api.engine.WorldMap;
+import api.model.TurnPhase;
+import api.service.AttackService;
+import api.service.TurnService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plays the turns of bot players. Turn changes only enqueue the game here, since they are seen on
+ * the thread that holds the game; a small pool of turn threads then plays the bot's moves through
+ * the regular services, like any client would. Each decision is a {@link MonteCarloSearch} on a
+ * copy of the board, run on a ForkJoin pool that is sized to cap the CPU the bots take on a node.
+ * <p>
+ * Like {@link api.security.PasswordHashingPool}, the pools are owned here rather than exposed as
+ * {@link java.util.concurrent.Executor} beans.
+ */
+@Component
+@Slf4j
+public class BotTurnRunner implements DisposableBean {
+
+    private static final int CANDIDATES = 10;
+
+    private final BotRoster botRoster;
+    private final GameEngine gameEngine;
+    private final TurnService turnService;
+    private final AttackService attackService;
+    private final WorldMap worldMap;
+    private final boolean enabled;
+    private final int maxAttacks;
+    private final ForkJoinPool searchPool;
+    private final MonteCarloSearch search;
+    private final ThreadPoolTaskExecutor turnExecutor = new ThreadPoolTaskExecutor();
+    // Games with a turn thread on them, so that a game is never played by two threads
+    private final Set<Long> runningGames = ConcurrentHashMap.newKeySet();
+    private final Timer decisionTimer;
+    private final DistributionSummary playoutSummary;
+    private final MeterRegistry meterRegistry;
+
+    public BotTurnRunner(
+            BotRoster botRoster,
+            GameEngine gameEngine,
+            TurnService turnService,
+            AttackService attackService,
+            WorldMap worldMap,
+            @Value("${teg.bots.enabled:true}") boolean enabled,
+            @Value("${teg.bots.threads:0}") int threads,
+            @Value("${teg.bots.search-parallelism:2}") int searchParallelism,
+            @Value("${teg.bots.move-budget-ms:300}") long moveBudgetMs,
+            @Value("${teg.bots.rollout-turns:6}") int rolloutTurns,
+            @Value("${teg.bots.max-attacks:15}") int maxAttacks,
+            @Value("${teg.bots.turn-threads:4}") int turnThreads,
+            MeterRegistry meterRegistry
+    ) {
+        this.botRoster = botRoster;
+        this.gameEngine = gameEngine;
+        this.turnService = turnService;
+        this.attackService = attackService;
+        this.worldMap = worldMap;
+        this.enabled = enabled;
+        this.maxAttacks = maxAttacks;
+        this.meterRegistry = meterRegistry;
+
+        int parallelism = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 4);
+        this.searchPool = new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("bot-search-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+        this.search = new MonteCarloSearch(searchPool, searchParallelism, moveBudgetMs, rolloutTurns);
+
+        turnExecutor.setCorePoolSize(turnThreads);
+        turnExecutor.setMaxPoolSize(turnThreads);
+        turnExecutor.setThreadNamePrefix("bot-turn-");
+        turnExecutor.initialize();
+
+        this.decisionTimer = Timer.builder("teg.bots.decision")
+                .description("Time taken by one bot decision")
+                .register(meterRegistry);
+        this.playoutSummary = DistributionSummary.builder("teg.bots.playouts")
+                .description("Playouts run for one bot decision")
+                .register(meterRegistry);
+        Gauge.builder("teg.bots.games", runningGames, Set::size)
+                .description("Games with a bot turn in progress")
+                .register(meterRegistry);
+        Gauge.builder("teg.bots.search.active", searchPool, ForkJoinPool::getActiveThreadCount)
+                .register(meterRegistry);
+        Gauge.builder("teg.bots.search.queued", searchPool, ForkJoinPool::getQueuedSubmissionCount)
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public void onGameDeltas(GameDeltasEvent event) {
+        // Runs on the game's action thread with the game locked: only hand the game off
+        if (!enabled || !event.turnEnded()) {
+            return;
+        }
+        List<GameDelta> deltas = event.deltas();
+        for (int i = deltas.size() - 1; i >= 0; i--) {
+            GameDelta delta = deltas.get(i);
+            if (delta.type() == GameDelta.Type.TURN_CHANGED) {
+                if (botRoster.isBot(delta.playerId())) {
+                    requestTurns(event.gameId());
+                }
+                return;
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameStarted(LobbyEvent.GameStarted event) {
+        if (enabled && event.game().getPlayers().stream().anyMatch(player -> Boolean.TRUE.equals(player.getBot()))) {
+            requestTurns(event.gameId());
+        }
+    }
+
+    private void requestTurns(Long gameId) {
+        if (runningGames.add(gameId)) {
+            turnExecutor.execute(() -> playTurns(gameId));
+        }
+    }
+
+    private void playTurns(Long gameId) {
+        try {
+            GameState state = snapshot(gameId);
+            while (isBotTurn(state)) {
+                long userId = state.getCurrentUserId();
+                try {
+                    playTurn(gameId, state);
+                } catch (RuntimeException e) {
+                    log.warn("Bot {} failed to play its turn in game {}: {}", userId, gameId, e.getMessage());
+                    if (!forfeitTurn(gameId, userId)) {
+                        return;
+                    }
+                }
+                state = snapshot(gameId);
+            }
+        } catch (RuntimeException e) {
+            log.error("Bot turns of game {} stopped", gameId, e);
+            return;
+        } finally {
+            runningGames.remove(gameId);
+        }
+        // A turn change seen while this thread was finishing up was skipped by requestTurns
+        if (isBotTurn(snapshot(gameId))) {
+            requestTurns(gameId);
+        }
+    }
+
+    private void playTurn(Long gameId, GameState state) {
+        long userId = state.getCurrentUserId();
+        if (state.getPhase() == TurnPhase.REINFORCE && state.getPendingTroops() > 0) {
+            BotMove move = decide(state, BotPolicy.reinforcements(state, CANDIDATES));
+            turnService.placeTroops(gameId, userId, worldMap.id(move.to()), move.troops());
+            state = snapshot(gameId);
+        }
+        for (int attacks = 0; attacks < maxAttacks && state.getPhase() == TurnPhase.ATTACK; attacks++) {
+            BotMove move = decide(state, BotPolicy.attacks(state, CANDIDATES));
+            if (move.type() == BotMove.Type.PASS) {
+                break;
+            }
+            AttackResultDTO result = attackService.attack(
+                    gameId, userId, worldMap.id(move.from()), worldMap.id(move.to()), true, null);
+            if (result.getWinnerId() != null) {
+                return;
+            }
+            state = snapshot(gameId);
+        }
+        if (state.getPhase() == TurnPhase.ATTACK || state.getPhase() == TurnPhase.FORTIFY) {
+            BotMove move = decide(state, BotPolicy.fortifications(state, CANDIDATES));
+            if (move.type() == BotMove.Type.FORTIFY) {
+                turnService.fortify(gameId, userId, worldMap.id(move.from()), worldMap.id(move.to()), move.troops());
+            }
+        }
+        turnService.endTurn(gameId, userId);
+    }
+
+    private BotMove decide(GameState state, List<BotMove> candidates) {
+        long start = System.nanoTime();
+        MonteCarloSearch.Decision decision = search.choose(state, candidates);
+        decisionTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        playoutSummary.record(decision.playouts());
+        Counter.builder("teg.bots.moves")
+                .tag("type", decision.move().type().name().toLowerCase())
+                .register(meterRegistry)
+                .increment();
+        return decision.move();
+    }
+
+    /**
+     * Places whatever is pending on the bot's first country and ends its turn, so a failing bot
+     * cannot hold up the game. Returns whether that worked.
+     */
+    private boolean forfeitTurn(Long gameId, long userId) {
+        try {
+            GameState state = snapshot(gameId);
+            if (state.isFinished() || state.getCurrentUserId() != userId) {
+                return true;
+            }
+            if (state.getPhase() == TurnPhase.REINFORCE && state.getPendingTroops() > 0) {
+                int country = Long.numberOfTrailingZeros(state.getTerritories(state.getCurrentSlot()));
+                turnService.placeTroops(gameId, userId, worldMap.id(country), state.getPendingTroops());
+            }
+            turnService.endTurn(gameId, userId);
+            return true;
+        } catch (RuntimeException e) {
+            log.error("Bot {} could not end its turn in game {}", userId, gameId, e);
+            return false;
+        }
+    }
+
+    private boolean isBotTurn(GameState state) {
+        return !state.isFinished() && botRoster.isBot(state.getCurrentUserId());
+    }
+
+    private GameState snapshot(Long gameId) {
+        return gameEngine.read(gameId, GameState::copy);
+    }
+
+    @Override
+    public void destroy() {
+        turnExecutor.shutdown();
+        searchPool.shutdownNow();
+    }
+}
@@ -0,0 +1,120 @@
+package api.bot;
+
+import api.engine.GameState;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Flat Monte Carlo search: each candidate move is scored by the mean outcome of random playouts
+ * from the board it leads to. A decision is split into a few tasks on a shared ForkJoin pool that
+ * cycle through the candidates until the move's time budget runs out, each on its own copies of
+ * the board; their tallies are then merged and the best mean wins.
+ */
+@Slf4j
+public final class MonteCarloSearch {
+
+    // Extra wait for workers to notice the deadline before their results are dropped
+    private static final long GRACE_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final ForkJoinPool pool;
+    private final int workers;
+    private final long budgetNanos;
+    private final int rolloutTurns;
+
+    public MonteCarloSearch(ForkJoinPool pool, int workers, long budgetMillis, int rolloutTurns) {
+        this.pool = pool;
+        this.workers = Math.max(1, Math.min(workers, pool.getParallelism()));
+        this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        this.rolloutTurns = rolloutTurns;
+    }
+
+    public record Decision(BotMove move, long playouts) {
+    }
+
+    /**
+     * Picks one of {@code candidates} for the player in turn on {@code root}, which must not change
+     * during the search. Falls back to the first candidate when no playout finished in time.
+     */
+    public Decision choose(GameState root, List<BotMove> candidates) {
+        if (candidates.size() == 1) {
+            return new Decision(candidates.get(0), 0);
+        }
+        long deadline = System.nanoTime() + budgetNanos;
+        List<ForkJoinTask<double[]>> tasks = new ArrayList<>(workers);
+        for (int worker = 0; worker < workers; worker++) {
+            int offset = worker;
+            tasks.add(pool.submit(() -> playouts(root, candidates, offset, deadline)));
+        }
+
+        int size = candidates.size();
+        double[] totals = new double[2 * size];
+        for (ForkJoinTask<double[]> task : tasks) {
+            double[] tally = await(task, deadline + GRACE_NANOS);
+            if (tally != null) {
+                for (int i = 0; i < tally.length; i++) {
+                    totals[i] += tally[i];
+                }
+            }
+        }
+
+        int best = 0;
+        double bestMean = -1;
+        long playouts = 0;
+        for (int i = 0; i < size; i++) {
+            double count = totals[size + i];
+            playouts += (long) count;
+            if (count > 0 && totals[i] / count > bestMean) {
+                bestMean = totals[i] / count;
+                best = i;
+            }
+        }
+        return new Decision(candidates.get(best), playouts);
+    }
+
+    /**
+     * Sums of scores and playout counts per candidate, starting at {@code offset} so that workers
+     * do not all begin with the same candidate.
+     */
+    private double[] playouts(GameState root, List<BotMove> candidates, int offset, long deadline) {
+        int size = candidates.size();
+        double[] tally = new double[2 * size];
+        int slot = root.getCurrentSlot();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = offset; System.nanoTime() < deadline; i++) {
+            int candidate = i % size;
+            BotMove move = candidates.get(candidate);
+            GameState state = root.copy();
+            move.apply(state, random);
+            BotPolicy.playout(state, rolloutTurns, !move.endsTurn(), random);
+            tally[candidate] += BotPolicy.evaluate(state, slot);
+            tally[size + candidate]++;
+        }
+        return tally;
+    }
+
+    private static double[] await(ForkJoinTask<double[]> task, long deadline) {
+        try {
+            return task.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | CancellationException e) {
+            // Still queued behind other searches: not worth waiting for
+            task.cancel(false);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            task.cancel(false);
+            return null;
+        } catch (ExecutionException e) {
+            log.warn("Bot playout failed", e.getCause());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package api.config;
+
+import api.engine.GameEngine;
+import api.engine.GameEventLog;
+import api.metrics.QueryCounter;
+import api.websocket.SessionRegistry;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Metrics exposed on {@code /actuator/prometheus} on top of Boot's own. The STOMP channel
+ * executors, simple broker included, are reported by Boot as {@code executor.*} tagged with the
+ * bean name; message rates and sizes come from {@link api.websocket.StompMetrics}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCounterCustomizer(QueryCounter queryCounter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, queryCounter);
+    }
+
+    @Bean
+    public MeterBinder queryMetrics(QueryCounter queryCounter) {
+        return registry -> FunctionCounter.builder("teg.jpa.queries", queryCounter, QueryCounter::total)
+                .description("SQL statements prepared by Hibernate")
+                .register(registry);
+    }
+
+    @Bean
+    public MeterBinder sessionMetrics(SessionRegistry sessionRegistry) {
+        return registry -> {
+            Gauge.builder("teg.websocket.users", sessionRegistry, SessionRegistry::getLocalUserCount)
+                    .description("Users connected to this node")
+                    .register(registry);
+            Gauge.builder("teg.websocket.sessions", sessionRegistry, SessionRegistry::getLocalSessionCount)
+                    .description("STOMP sessions open on this node")
+                    .register(registry);
+            Gauge.builder("teg.websocket.users.cluster", sessionRegistry, SessionRegistry::getClusterUserCount)
+                    .description("Users connected to any node")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder engineMetrics(GameEngine gameEngine, GameEventLog gameEventLog) {
+        return registry -> {
+            Gauge.builder("teg.engine.hosted.games", gameEngine, GameEngine::getHostedGames)
+                    .description("Games held in memory by this node")
+                    .register(registry);
+            Gauge.builder("teg.engine.pending.events", gameEventLog, GameEventLog::getPendingEvents)
+                    .description("Game events waiting to be written")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,45 @@
+package api.config;
+
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * {@link ThreadPoolTaskExecutor} that runs every task on its own virtual thread. Spring 6.0 only
+ * accepts a {@link ThreadPoolTaskExecutor} for the STOMP channels, so this adapts the type while
+ * bypassing the pool entirely.
+ */
+public class VirtualThreadTaskExecutor extends ThreadPoolTaskExecutor {
+
+    private final transient ExecutorService virtualThreads;
+
+    public VirtualThreadTaskExecutor(String prefix) {
+        this.virtualThreads = VirtualThreads.newThreadPerTaskExecutor(prefix);
+        setThreadNamePrefix(prefix);
+        setCorePoolSize(1);
+        setMaxPoolSize(1);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        virtualThreads.execute(task);
+    }
+
+    @Override
+    public Future<?> submit(Runnable task) {
+        return virtualThreads.submit(task);
+    }
+
+    @Override
+    public <T> Future<T> submit(Callable<T> task) {
+        return virtualThreads.submit(task);
+    }
+
+    @Override
+    public void shutdown() {
+        virtualThreads.shutdown();
+        super.shutdown();
+    }
+}
@@ -0,0 +1,24 @@
+package api.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Opt-in mode ({@code teg.threads.virtual=true}, JDK 21+) that serves every servlet request on its
+ * own virtual thread. The STOMP inbound channel is switched in {@link WebSocketConfig}. See
+ * docs/virtual-threads.md.
+ */
+@Configuration
+@ConditionalOnProperty(name = "teg.threads.virtual", havingValue = "true")
+@Slf4j
+public class VirtualThreadsConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        log.info("Serving HTTP requests on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(VirtualThreads.newThreadPerTaskExecutor("tomcat-"));
+    }
+}
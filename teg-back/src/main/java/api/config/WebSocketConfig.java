@@ -1,24 +1,106 @@
 package api.config;
 
+import api.websocket.BinaryPayloadCodec;
+import api.websocket.StompMetrics;
 import api.websocket.WebSocketAuthInterceptor;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.converter.MessageConverter;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.StompBrokerRelayRegistration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.util.StringUtils;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
+import java.util.List;
+
+/**
+ * STOMP over WebSocket. By default subscriptions live in the in-memory simple broker of this
+ * node; with {@code teg.websocket.broker=relay} they are relayed to an external STOMP broker
+ * (ActiveMQ, RabbitMQ), so several backend nodes can serve the same games. User destinations and
+ * the user registry are then broadcast through the broker, so {@code /user/queue/*} messages
+ * reach sessions connected to any node.
+ */
 @Configuration
 @EnableWebSocketMessageBroker
 @RequiredArgsConstructor
+@Slf4j
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private static final String USER_DESTINATION_BROADCAST = "/topic/unresolved-user-destination";
+    private static final String USER_REGISTRY_BROADCAST = "/topic/simp-user-registry";
+
     private final WebSocketAuthInterceptor webSocketAuthInterceptor;
+    private final BinaryPayloadCodec binaryPayloadCodec;
+    private final StompMetrics stompMetrics;
+
+    @Value("${teg.threads.virtual:false}")
+    private boolean virtualThreads;
+
+    @Value("${teg.websocket.broker:simple}")
+    private String brokerMode;
+
+    @Value("${teg.websocket.heartbeat-ms:10000}")
+    private long heartbeatMillis;
+
+    @Value("${teg.websocket.simple-broker.pool-size:0}")
+    private int simpleBrokerPoolSize;
+
+    @Value("${teg.websocket.inbound-pool-size:0}")
+    private int inboundPoolSize;
+
+    @Value("${teg.websocket.outbound-pool-size:0}")
+    private int outboundPoolSize;
+
+    @Value("${teg.websocket.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${teg.websocket.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${teg.websocket.relay.login:guest}")
+    private String relayLogin;
+
+    @Value("${teg.websocket.relay.passcode:guest}")
+    private String relayPasscode;
+
+    @Value("${teg.websocket.relay.virtual-host:}")
+    private String relayVirtualHost;
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/topic", "/queue");
+        if ("relay".equalsIgnoreCase(brokerMode)) {
+            log.info("Relaying STOMP destinations to broker at {}:{}", relayHost, relayPort);
+            StompBrokerRelayRegistration relay = config.enableStompBrokerRelay("/topic", "/queue")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayLogin)
+                    .setClientPasscode(relayPasscode)
+                    .setSystemLogin(relayLogin)
+                    .setSystemPasscode(relayPasscode)
+                    .setSystemHeartbeatSendInterval(heartbeatMillis)
+                    .setSystemHeartbeatReceiveInterval(heartbeatMillis)
+                    .setUserDestinationBroadcast(USER_DESTINATION_BROADCAST)
+                    .setUserRegistryBroadcast(USER_REGISTRY_BROADCAST);
+            if (StringUtils.hasText(relayVirtualHost)) {
+                relay.setVirtualHost(relayVirtualHost);
+            }
+        } else {
+            config.enableSimpleBroker("/topic", "/queue")
+                    .setHeartbeatValue(new long[]{heartbeatMillis, heartbeatMillis})
+                    .setTaskScheduler(heartbeatScheduler());
+            if (simpleBrokerPoolSize > 0) {
+                config.configureBrokerChannel().taskExecutor()
+                        .corePoolSize(simpleBrokerPoolSize)
+                        .maxPoolSize(simpleBrokerPoolSize);
+            }
+        }
         config.setApplicationDestinationPrefixes("/app");
         config.setUserDestinationPrefix("/user");
     }
@@ -31,6 +113,39 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
-        registration.interceptors(webSocketAuthInterceptor);
+        registration.interceptors(webSocketAuthInterceptor, binaryPayloadCodec.inboundInterceptor(),
+                stompMetrics.inboundInterceptor());
+        if (virtualThreads) {
+            registration.taskExecutor(new VirtualThreadTaskExecutor("stomp-inbound-"));
+        } else if (inboundPoolSize > 0) {
+            registration.taskExecutor().corePoolSize(inboundPoolSize).maxPoolSize(inboundPoolSize);
+        }
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.interceptors(binaryPayloadCodec.outboundInterceptor(), stompMetrics.outboundInterceptor());
+        if (outboundPoolSize > 0) {
+            registration.taskExecutor().corePoolSize(outboundPoolSize).maxPoolSize(outboundPoolSize);
+        }
+    }
+
+    @Override
+    public boolean configureMessageConverters(List<MessageConverter> messageConverters) {
+        messageConverters.add(binaryPayloadCodec.messageConverter());
+        // Keep the default converters, JSON stays the default format
+        return true;
+    }
+
+    /**
+     * Sends the simple broker's heartbeats. A bean so the context shuts it down, but not an
+     * autowire candidate, so {@code @Scheduled} methods keep running on the broker's own scheduler.
+     */
+    @Bean(autowireCandidate = false)
+    public ThreadPoolTaskScheduler heartbeatScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("stomp-heartbeat-");
+        return scheduler;
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,15 @@
+package api.config;
+
+import api.engine.WorldMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class WorldMapConfig {
+
+    @Bean
+    public WorldMap worldMap(@Value("${teg.map.resource:" + WorldMap.DEFAULT_RESOURCE + "}") String resource) {
+        return WorldMap.load(resource);
+    }
+}
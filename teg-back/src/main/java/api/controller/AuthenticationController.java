@@ -3,7 +3,9 @@ package api.controller;
 import api.dto.AuthenticationResponse;
 import api.dto.LoginDTO;
 import api.dto.UserRegistrationDTO;
+import api.security.LoginRateLimiter;
 import api.service.AuthenticationService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import lombok.RequiredArgsConstructor;
@@ -13,6 +15,8 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/auth")
 @Slf4j
@@ -20,25 +24,32 @@ import org.springframework.web.bind.annotation.*;
 public class AuthenticationController {
 
     private final AuthenticationService authenticationService;
+    private final LoginRateLimiter loginRateLimiter;
 
-    public AuthenticationController(AuthenticationService authenticationService) {
+    public AuthenticationController(AuthenticationService authenticationService, LoginRateLimiter loginRateLimiter) {
         this.authenticationService = authenticationService;
+        this.loginRateLimiter = loginRateLimiter;
     }
 
+    // Password hashing runs on a dedicated pool; the servlet thread is released meanwhile
     @PostMapping("/register")
-    public ResponseEntity<AuthenticationResponse> register(
-            @Valid @RequestBody UserRegistrationDTO request
+    public CompletableFuture<ResponseEntity<AuthenticationResponse>> register(
+            @Valid @RequestBody UserRegistrationDTO request,
+            HttpServletRequest httpRequest
     ) {
         log.debug("Received registration request for user: {}", request.getUsername());
-        return ResponseEntity.ok(authenticationService.register(request));
+        loginRateLimiter.acquire(httpRequest.getRemoteAddr(), request.getUsername());
+        return authenticationService.registerAsync(request).thenApply(ResponseEntity::ok);
     }
 
     @PostMapping("/login")
-    public ResponseEntity<AuthenticationResponse> login(
-            @Valid @RequestBody LoginDTO request
+    public CompletableFuture<ResponseEntity<AuthenticationResponse>> login(
+            @Valid @RequestBody LoginDTO request,
+            HttpServletRequest httpRequest
     ) {
         log.debug("Received login request for user: {}", request.getUsernameOrEmail());
-        return ResponseEntity.ok(authenticationService.authenticate(request));
+        loginRateLimiter.acquire(httpRequest.getRemoteAddr(), request.getUsernameOrEmail());
+        return authenticationService.authenticateAsync(request).thenApply(ResponseEntity::ok);
     }
 
     @GetMapping("/me")
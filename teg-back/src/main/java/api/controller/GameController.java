@@ -1,22 +1,34 @@
 package api.controller;
 
+import api.dto.AttackRequest;
+import api.dto.AttackResultDTO;
 import api.dto.CreateGameRequest;
 import api.dto.GameDTO;
 import api.dto.GamePlayerDTO;
 import api.dto.ColorDTO;
+import api.dto.FortifyRequest;
+import api.dto.GameEventsDTO;
+import api.dto.PlaceTroopsRequest;
+import api.dto.TurnDTO;
+import api.engine.GameEngine;
+import api.engine.WorldMap;
 import api.model.Game;
+import api.model.GameStatus;
+import api.security.UserPrincipal;
+import api.service.AttackService;
+import api.service.GameMembershipService;
 import api.service.GameService;
+import api.service.TurnService;
 import api.util.GameDtoMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/api/game")
@@ -26,7 +38,11 @@ import java.util.Map;
 public class GameController {
 
     private final GameService gameService;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final TurnService turnService;
+    private final AttackService attackService;
+    private final GameMembershipService gameMembershipService;
+    private final GameEngine gameEngine;
+    private final WorldMap worldMap;
 
     @PostMapping("/create")
     public ResponseEntity<GameDTO> createGame(
@@ -40,12 +56,6 @@ public class GameController {
                 request.getMaxPlayers(),
                 authentication.getName()
             );
-            
-            // Broadcast to all users via WebSocket
-            messagingTemplate.convertAndSend(
-                "/topic/game-updates",
-                Map.of("type", "GAME_UPDATED", "payload", game)
-            );
 
             return ResponseEntity.ok(game);
         } catch (Exception e) {
@@ -68,7 +78,12 @@ public class GameController {
     @GetMapping("/{id}")
     public ResponseEntity<GameDTO> getGame(@PathVariable Long id) {
         try {
-            return ResponseEntity.ok(GameDtoMapper.toGameDTO(gameService.getGameOrThrowException(id)));
+            Game game = gameService.getGameOrThrowException(id);
+            GameDTO dto = GameDtoMapper.toGameDTO(game);
+            if (game.getStatus() == GameStatus.IN_PROGRESS) {
+                gameEngine.read(id, state -> GameDtoMapper.withLiveBoard(dto, state, worldMap));
+            }
+            return ResponseEntity.ok(dto);
         } catch (Exception e) {
             log.error("Error getting game", e);
             throw new RuntimeException("Failed to get game: " + e.getMessage());
@@ -82,48 +97,30 @@ public class GameController {
     ) {
         try {
             Game game = gameService.joinGame(gameId, userId);
-            GameDTO dto = GameDtoMapper.toGameDTO(game);
-
-            GamePlayerDTO newPlayer = dto.getPlayers().stream()
-                .filter(gp -> gp.getUser().getId().equals(userId))
-                .findFirst().orElseThrow(() -> new RuntimeException("User not found"));
-
-            // Broadcast only the new GamePlayerDTO and gameId
-            messagingTemplate.convertAndSend(
-                "/topic/game-updates",
-                Map.of(
-                    "type", "USER_JOINED",
-                    "payload", Map.of(
-                        "gameId", game.getId(),
-                        "player", newPlayer
-                    )
-                )
-            );
-
-            return ResponseEntity.ok(dto);
+            return ResponseEntity.ok(GameDtoMapper.toGameDTO(game));
         } catch (Exception e) {
             log.error("Error joining game", e);
             throw new RuntimeException("Failed to join game: " + e.getMessage());
         }
     }
 
+    @PostMapping("/bots/{gameId}/{userId}")
+    public ResponseEntity<GameDTO> addBots(
+            @PathVariable("gameId") Long gameId,
+            @PathVariable("userId") Long userId,
+            @RequestParam(value = "count", required = false) Integer count,
+            Authentication authentication
+    ) {
+        Game game = gameService.addBots(gameId, actingUser(authentication, userId), count);
+        return ResponseEntity.ok(GameDtoMapper.toGameDTO(game));
+    }
+
     @PostMapping("leave/{gameId}/{userId}")
     public ResponseEntity<GameDTO> leaveGame(
             @PathVariable("gameId") Long gameId,
             @PathVariable("userId") Long userId
     ) {
         Game game = gameService.leaveGame(gameId, userId);
-        // Broadcast only the userId and gameId
-        messagingTemplate.convertAndSend(
-            "/topic/game-updates",
-            Map.of(
-                "type", "USER_LEFT",
-                "payload", Map.of(
-                    "gameId", gameId,
-                    "userId", userId
-                )
-            )
-        );
         return ResponseEntity.ok(GameDtoMapper.toGameDTO(game));
     }
 
@@ -135,18 +132,6 @@ public class GameController {
     ) {
         String color = colorDTO.getColor();
         GamePlayerDTO updatedPlayer = gameService.updatePlayerColor(gameId, userId, color);
-        // Broadcast color change
-        messagingTemplate.convertAndSend(
-            "/topic/game-updates",
-            Map.of(
-                "type", "PLAYER_COLOR_CHANGED",
-                "payload", Map.of(
-                    "gameId", gameId,
-                    "userId", userId,
-                    "color", color
-                )
-            )
-        );
         return ResponseEntity.ok(updatedPlayer);
     }
 
@@ -156,6 +141,88 @@ public class GameController {
             @PathVariable("userId") Long userId
     ) {
         Game game = gameService.startGame(gameId, userId);
-        return ResponseEntity.ok(GameDtoMapper.toGameDTO(game));
+        GameDTO dto = GameDtoMapper.toGameDTO(game);
+        gameEngine.read(gameId, state -> GameDtoMapper.withLiveBoard(dto, state, worldMap));
+        return ResponseEntity.ok(dto);
+    }
+
+    @GetMapping("/turn/{gameId}")
+    public ResponseEntity<TurnDTO> getTurn(@PathVariable("gameId") Long gameId, Authentication authentication) {
+        requirePlayer(authentication, gameId);
+        return ResponseEntity.ok(turnService.getTurn(gameId));
+    }
+
+    @GetMapping("/events/{gameId}")
+    public ResponseEntity<GameEventsDTO> getEvents(
+            @PathVariable("gameId") Long gameId,
+            @RequestParam(value = "since", defaultValue = "0") long since,
+            Authentication authentication
+    ) {
+        requirePlayer(authentication, gameId);
+        return ResponseEntity.ok(turnService.getEventsSince(gameId, since));
+    }
+
+    @PostMapping("/reinforce/{gameId}/{userId}")
+    public ResponseEntity<TurnDTO> placeTroops(
+            @PathVariable("gameId") Long gameId,
+            @PathVariable("userId") Long userId,
+            @Valid @RequestBody PlaceTroopsRequest request,
+            Authentication authentication
+    ) {
+        return ResponseEntity.ok(turnService.placeTroops(
+                gameId, actingUser(authentication, userId), request.getCountry(), request.getTroops()));
+    }
+
+    @PostMapping("/attack/{gameId}/{userId}")
+    public ResponseEntity<AttackResultDTO> attack(
+            @PathVariable("gameId") Long gameId,
+            @PathVariable("userId") Long userId,
+            @Valid @RequestBody AttackRequest request,
+            Authentication authentication
+    ) {
+        return ResponseEntity.ok(attackService.attack(
+                gameId, actingUser(authentication, userId), request.getFrom(), request.getTo(), request.isBlitz(), request.getStopAt()));
+    }
+
+    @PostMapping("/fortify/{gameId}/{userId}")
+    public ResponseEntity<TurnDTO> fortify(
+            @PathVariable("gameId") Long gameId,
+            @PathVariable("userId") Long userId,
+            @Valid @RequestBody FortifyRequest request,
+            Authentication authentication
+    ) {
+        return ResponseEntity.ok(turnService.fortify(
+                gameId, actingUser(authentication, userId), request.getFrom(), request.getTo(), request.getTroops()));
+    }
+
+    @PostMapping("/end-turn/{gameId}/{userId}")
+    public ResponseEntity<TurnDTO> endTurn(
+            @PathVariable("gameId") Long gameId,
+            @PathVariable("userId") Long userId,
+            Authentication authentication
+    ) {
+        return ResponseEntity.ok(turnService.endTurn(gameId, actingUser(authentication, userId)));
+    }
+
+    /**
+     * Restricts a game's live state to its players, as the subscription to its topics is.
+     */
+    private void requirePlayer(Authentication authentication, Long gameId) {
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal user)
+                || !gameMembershipService.isPlayer(gameId, user.getId())) {
+            throw new AccessDeniedException("Not a player of game " + gameId);
+        }
+    }
+
+    /**
+     * The authenticated user, who must be the one named in the path: moves are never made on
+     * behalf of another player.
+     */
+    private static Long actingUser(Authentication authentication, Long userId) {
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal user)
+                || !user.getId().equals(userId)) {
+            throw new AccessDeniedException("Cannot act on behalf of another user");
+        }
+        return user.getId();
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,26 @@
+package api.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttackRequest {
+    @NotBlank(message = "Attacking country is required")
+    private String from;
+
+    @NotBlank(message = "Defending country is required")
+    private String to;
+
+    // Keep rolling until the country is conquered or the attacker is down to stopAt troops
+    private boolean blitz;
+
+    @Min(value = 1, message = "At least one troop must stay behind")
+    private Integer stopAt;
+}
@@ -0,0 +1,27 @@
+package api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttackResultDTO {
+    private Long gameId;
+    private Long attackerId;
+    private Long defenderId;
+    private String from;
+    private String to;
+    private Integer rolls;
+    private Integer attackerLosses;
+    private Integer defenderLosses;
+    private Boolean conquered;
+    private Integer movedTroops;
+    private Integer attackerTroops;
+    private Integer defenderTroops;
+    private Boolean defenderEliminated;
+    private Long winnerId;
+}
@@ -0,0 +1,9 @@
+package api.dto;
+
+public record ErrorEvent(String message) implements ServerEvent {
+
+    @Override
+    public String type() {
+        return "ERROR";
+    }
+}
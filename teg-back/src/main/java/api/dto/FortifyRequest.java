@@ -0,0 +1,25 @@
+package api.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FortifyRequest {
+    @NotBlank(message = "Origin country is required")
+    private String from;
+
+    @NotBlank(message = "Destination country is required")
+    private String to;
+
+    @NotNull(message = "Troops are required")
+    @Min(value = 1, message = "At least one troop must be moved")
+    private Integer troops;
+}
@@ -20,4 +20,5 @@ public class GameDTO {
     private LocalDateTime createdAt;
     private UserDTO createdBy;
     private List<GamePlayerDTO> players;
+    private Long sequence;
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package api.dto;
+
+/**
+ * Events of an IN_PROGRESS game, sent to its game topic.
+ */
+public sealed interface GameEvent extends ServerEvent {
+
+    Long gameId();
+
+    record Deltas(Long gameId, GameEventsDTO events) implements GameEvent {
+        @Override
+        public String type() {
+            return "GAME_EVENTS";
+        }
+
+        @Override
+        public Object payload() {
+            return events;
+        }
+    }
+
+    record AttackResolved(Long gameId, AttackResultDTO result) implements GameEvent {
+        @Override
+        public String type() {
+            return "ATTACK_RESOLVED";
+        }
+
+        @Override
+        public Object payload() {
+            return result;
+        }
+    }
+}
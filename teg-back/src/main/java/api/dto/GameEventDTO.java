@@ -0,0 +1,23 @@
+package api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GameEventDTO {
+    private Long seq;
+    private String type;
+    private String country;
+    private Long playerId;
+    private Integer troops;
+    private Integer round;
+    private String phase;
+    private Integer pendingTroops;
+}
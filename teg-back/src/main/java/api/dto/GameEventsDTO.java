@@ -0,0 +1,19 @@
+package api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GameEventsDTO {
+    private Long gameId;
+    private Long latestSeq;
+    private boolean resync;
+    private List<GameEventDTO> events;
+}
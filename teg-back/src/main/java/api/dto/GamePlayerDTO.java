@@ -18,4 +18,5 @@ public class GamePlayerDTO {
     private LocalDateTime joinedAt;
     private String objective;
     private List<CountryTroopDTO> countries;
+    private Boolean bot;
 } 
\ No newline at end of file
@@ -0,0 +1,11 @@
+package api.dto;
+
+import java.util.List;
+
+public record GamesListEvent(List<GameDTO> games) implements ServerEvent {
+
+    @Override
+    public String type() {
+        return "GAMES_LIST";
+    }
+}
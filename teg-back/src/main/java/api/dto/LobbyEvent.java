@@ -1,25 +1,50 @@
 package api.dto;
 
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
-@Data
-@Builder
-@NoArgsConstructor
-@AllArgsConstructor
-public class LobbyEvent {
-    private LobbyEventType type;
-    private String username;
-    private Long gameId;
-    private String message;
-
-    public enum LobbyEventType {
-        USER_JOINED,
-        USER_LEFT,
-        GAME_STARTED,
-        GAME_CANCELLED,
-        ERROR
+/**
+ * Events of a game in the WAITING state, sent to its lobby topic. Services publish them with the
+ * application event publisher and they go out once the transaction commits.
+ */
+public sealed interface LobbyEvent extends ServerEvent {
+
+    Long gameId();
+
+    record UserJoined(Long gameId, UserDTO user, GamePlayerDTO player) implements LobbyEvent {
+        @Override
+        public String type() {
+            return "USER_JOINED";
+        }
+    }
+
+    record UserLeft(Long gameId, Long userId) implements LobbyEvent {
+        @Override
+        public String type() {
+            return "USER_LEFT";
+        }
+    }
+
+    record PlayerColorChanged(Long gameId, Long userId, String color) implements LobbyEvent {
+        @Override
+        public String type() {
+            return "PLAYER_COLOR_CHANGED";
+        }
+    }
+
+    record GameCancelled(Long gameId, String message) implements LobbyEvent {
+        @Override
+        public String type() {
+            return "GAME_CANCELLED";
+        }
+    }
+
+    record GameStarted(Long gameId, GameDTO game) implements LobbyEvent {
+        @Override
+        public String type() {
+            return "GAME_STARTED";
+        }
+
+        @Override
+        public Object payload() {
+            return game;
+        }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,17 @@
+package api.dto;
+
+import api.model.GameStatus;
+import api.model.PlayerColor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of the lobby list query: a game with its creator and one of its players. Player columns
+ * are null for a game without players.
+ */
+public record LobbyGameRow(Long gameId, String name, Integer maxPlayers, GameStatus status,
+                           LocalDateTime createdAt, Long creatorId, String creatorUsername,
+                           String creatorEmail, Long playerId, String playerUsername, String playerEmail,
+                           PlayerColor color, Integer turnOrder, LocalDateTime joinedAt,
+                           Boolean playerBot) {
+}
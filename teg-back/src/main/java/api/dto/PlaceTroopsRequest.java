@@ -0,0 +1,22 @@
+package api.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlaceTroopsRequest {
+    @NotBlank(message = "Country is required")
+    private String country;
+
+    @NotNull(message = "Troops are required")
+    @Min(value = 1, message = "At least one troop must be placed")
+    private Integer troops;
+}
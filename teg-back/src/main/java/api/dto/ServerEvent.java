@@ -0,0 +1,14 @@
+package api.dto;
+
+/**
+ * A message pushed to STOMP subscribers, sent as {@code {"type": ..., "payload": ...}}. Events are
+ * serialized once and the same bytes are delivered to every subscriber.
+ */
+public interface ServerEvent {
+
+    String type();
+
+    default Object payload() {
+        return this;
+    }
+}
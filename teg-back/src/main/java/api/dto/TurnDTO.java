@@ -0,0 +1,18 @@
+package api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TurnDTO {
+    private Long gameId;
+    private Integer round;
+    private Long currentPlayerId;
+    private String phase;
+    private Integer pendingTroops;
+}
@@ -0,0 +1,47 @@
+package api.engine;
+
+import lombok.Getter;
+
+/**
+ * Aggregated outcome of one attack call, however many dice rolls it took.
+ */
+@Getter
+public final class AttackResult {
+    private int from;
+    private int to;
+    private int rolls;
+    private int attackerLosses;
+    private int defenderLosses;
+    private boolean conquered;
+    private int defenderSlot;
+    private int movedTroops;
+    private int attackerTroops;
+    private int defenderTroops;
+
+    void start(int from, int to, int defenderSlot) {
+        this.from = from;
+        this.to = to;
+        this.defenderSlot = defenderSlot;
+        this.rolls = 0;
+        this.attackerLosses = 0;
+        this.defenderLosses = 0;
+        this.conquered = false;
+        this.movedTroops = 0;
+    }
+
+    void roll(int attackerLosses, int defenderLosses) {
+        this.rolls++;
+        this.attackerLosses += attackerLosses;
+        this.defenderLosses += defenderLosses;
+    }
+
+    void conquer(int movedTroops) {
+        this.conquered = true;
+        this.movedTroops = movedTroops;
+    }
+
+    void finish(int attackerTroops, int defenderTroops) {
+        this.attackerTroops = attackerTroops;
+        this.defenderTroops = defenderTroops;
+    }
+}
@@ -0,0 +1,91 @@
+package api.engine;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Resolves TEG attacks: up to three dice per side, highest dice compared pairwise and ties won by
+ * the defender. The roll loop works on primitives only, so a blitz of any length allocates nothing
+ * and the losses of all its rolls are applied to the {@link GameState} once, at the end.
+ */
+public final class Battle {
+
+    public static final int MAX_DICE = 3;
+
+    private Battle() {
+    }
+
+    /**
+     * Rolls until the defender is wiped out, {@code maxRolls} rolls have been made or the attacker
+     * is down to {@code stopAt} troops, and writes the aggregated outcome into {@code result}. An
+     * attacker already at or below {@code stopAt} troops could not roll once, so it is rejected.
+     */
+    public static void resolve(GameState state, int slot, int from, int to, int maxRolls, int stopAt,
+                               RandomGenerator random, AttackResult result) {
+        state.requireAttack(slot, from, to);
+        int floor = Math.max(1, stopAt);
+        if (state.getTroops(from) <= floor) {
+            throw new RuntimeException("The attacking country has no troops above the stop value");
+        }
+        result.start(from, to, state.getOwner(to));
+
+        int attackerTroops = state.getTroops(from);
+        int defenderTroops = state.getTroops(to);
+        int attackDice = 0;
+        while (result.getRolls() < maxRolls && attackerTroops > floor && defenderTroops > 0) {
+            attackDice = Math.min(MAX_DICE, attackerTroops - 1);
+            int defendDice = Math.min(MAX_DICE, defenderTroops);
+            int attack = rollSorted(random, attackDice);
+            int defend = rollSorted(random, defendDice);
+
+            int attackerLosses = 0;
+            int defenderLosses = 0;
+            int pairs = Math.min(attackDice, defendDice);
+            for (int i = 0; i < pairs; i++) {
+                int shift = (MAX_DICE - 1 - i) * 4;
+                if (((attack >>> shift) & 0xF) > ((defend >>> shift) & 0xF)) {
+                    defenderLosses++;
+                } else {
+                    attackerLosses++;
+                }
+            }
+            attackerTroops -= attackerLosses;
+            defenderTroops -= defenderLosses;
+            result.roll(attackerLosses, defenderLosses);
+        }
+
+        state.applyLosses(from, to, result.getAttackerLosses(), result.getDefenderLosses());
+        if (defenderTroops == 0) {
+            int moved = Math.max(1, Math.min(attackDice, attackerTroops - 1));
+            state.conquer(from, to, moved);
+            result.conquer(moved);
+        }
+        result.finish(state.getTroops(from), state.getTroops(to));
+    }
+
+    /**
+     * Rolls {@code dice} six-sided dice and packs them sorted from highest to lowest into one int,
+     * four bits per die with the highest in the top nibble. Missing dice are packed as zero.
+     */
+    static int rollSorted(RandomGenerator random, int dice) {
+        int a = random.nextInt(6) + 1;
+        int b = dice > 1 ? random.nextInt(6) + 1 : 0;
+        int c = dice > 2 ? random.nextInt(6) + 1 : 0;
+        int t;
+        if (a < b) {
+            t = a;
+            a = b;
+            b = t;
+        }
+        if (b < c) {
+            t = b;
+            b = c;
+            c = t;
+        }
+        if (a < b) {
+            t = a;
+            a = b;
+            b = t;
+        }
+        return (a << 8) | (b << 4) | c;
+    }
+}
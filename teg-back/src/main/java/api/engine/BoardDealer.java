@@ -0,0 +1,76 @@
+package api.engine;
+
+import api.model.GamePlayer;
+import api.model.Objective;
+import api.model.PlayerColor;
+import api.model.TurnPhase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Deals the opening of a game: one secret objective per player and every country of the map
+ * round-robin with one troop, starting with the first player in turn order.
+ */
+public final class BoardDealer {
+
+    private BoardDealer() {
+    }
+
+    public static GameState deal(long gameId, Iterable<GamePlayer> gamePlayers, WorldMap map, Random random) {
+        List<GamePlayer> players = new ArrayList<>();
+        gamePlayers.forEach(players::add);
+        players.sort(Comparator.comparing(GamePlayer::getTurnOrder));
+        GameState state = new GameState(gameId, players.size(), map);
+
+        // Assign objectives
+        List<Objective> allObjectives = new ArrayList<>(Arrays.asList(Objective.values()));
+        Collections.shuffle(allObjectives, random);
+        // Track which colors are in play
+        Set<PlayerColor> colorsInPlay = players.stream().map(GamePlayer::getColor).collect(Collectors.toSet());
+        for (int slot = 0; slot < players.size(); slot++) {
+            GamePlayer player = players.get(slot);
+            Objective assigned = null;
+            Iterator<Objective> it = allObjectives.iterator();
+            while (it.hasNext()) {
+                Objective obj = it.next();
+                PlayerColor target = ObjectiveTracker.destroyTarget(obj);
+                // Only assign a destroy objective if that color is in play and not the player's own color
+                if (target == null || (colorsInPlay.contains(target) && player.getColor() != target)) {
+                    assigned = obj;
+                    it.remove();
+                    break;
+                }
+            }
+            // If no valid destroy objective, fallback to CONQUER_30_COUNTRIES
+            if (assigned == null) {
+                assigned = Objective.CONQUER_30_COUNTRIES;
+            }
+            state.setPlayer(slot, player.getId().getUserId(), player.getColor(), assigned);
+        }
+
+        // Assign countries
+        int[] countries = new int[map.size()];
+        for (int country = 0; country < countries.length; country++) {
+            countries[country] = country;
+        }
+        for (int i = countries.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int t = countries[i];
+            countries[i] = countries[j];
+            countries[j] = t;
+        }
+        for (int i = 0; i < countries.length; i++) {
+            state.setCountry(countries[i], i % players.size(), 1);
+        }
+        state.setTurn(0, 1, TurnPhase.REINFORCE, state.reinforcementsFor(0));
+        return state;
+    }
+}
@@ -0,0 +1,37 @@
+package api.engine;
+
+import api.model.TurnPhase;
+
+/**
+ * One entry of a game's event stream. Only the fields relevant to the {@link Type} are set;
+ * countries are map ordinals and players are user ids ({@link #NONE} when absent).
+ */
+public record GameDelta(long seq, Type type, int country, long playerId, int troops,
+                        int round, TurnPhase phase, int pendingTroops) {
+
+    public static final int NONE = -1;
+
+    public enum Type {
+        TROOPS_CHANGED,
+        OWNER_CHANGED,
+        TURN_CHANGED,
+        PLAYER_ELIMINATED,
+        GAME_FINISHED
+    }
+
+    static GameDelta troops(long seq, int country, int troops) {
+        return new GameDelta(seq, Type.TROOPS_CHANGED, country, NONE, troops, NONE, null, NONE);
+    }
+
+    static GameDelta owner(long seq, int country, long playerId, int troops) {
+        return new GameDelta(seq, Type.OWNER_CHANGED, country, playerId, troops, NONE, null, NONE);
+    }
+
+    static GameDelta turn(long seq, long playerId, int round, TurnPhase phase, int pendingTroops) {
+        return new GameDelta(seq, Type.TURN_CHANGED, NONE, playerId, NONE, round, phase, pendingTroops);
+    }
+
+    static GameDelta player(long seq, Type type, long playerId) {
+        return new GameDelta(seq, type, NONE, playerId, NONE, NONE, null, NONE);
+    }
+}
@@ -0,0 +1,12 @@
+package api.engine;
+
+import java.util.List;
+
+/**
+ * Published by the {@link GameEngine} after an action changed a game, while the game is still
+ * locked, so listeners receive each game's deltas in sequence order. {@code snapshot} is a copy
+ * of the state after the deltas when the stream crossed a snapshot boundary, otherwise
+ * {@code null}. {@code turnEnded} is set when the action passed the turn or finished the game.
+ */
+public record GameDeltasEvent(long gameId, List<GameDelta> deltas, GameState snapshot, boolean turnEnded) {
+}
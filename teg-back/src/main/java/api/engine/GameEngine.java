@@ -0,0 +1,188 @@
+package api.engine;
+
+import api.exception.ServiceUnavailableException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Authoritative owner of every IN_PROGRESS game hosted by this node. Actions run against the
+ * in-memory {@link GameState} while holding that game's monitor, so each game has exactly one
+ * writer at a time and different games never contend. Changes are picked up by
+ * {@link GameStatePersister} and written to the database off the request path, and published as
+ * sequenced {@link GameDelta}s through a {@link GameDeltasEvent}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GameEngine {
+
+    private final GameStateLoader gameStateLoader;
+    private final GameEventLog gameEventLog;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ConcurrentHashMap<Long, HostedGame> games = new ConcurrentHashMap<>();
+    private final Set<Long> dirtyGames = ConcurrentHashMap.newKeySet();
+
+    @Value("${teg.engine.journal-capacity:512}")
+    private int journalCapacity;
+
+    @Value("${teg.engine.snapshot-interval:100}")
+    private int snapshotInterval;
+
+    /**
+     * Hosts a game that just started. Keeps the hosted copy if a request already loaded the game
+     * from the database, since that copy may have taken moves since.
+     */
+    public void register(GameState state) {
+        games.putIfAbsent(state.getGameId(), new HostedGame(state, journalCapacity));
+        log.debug("Game {} registered in engine. Hosted games: {}", state.getGameId(), games.size());
+    }
+
+    /**
+     * Stops hosting a game that is no longer in progress. Takes the game's monitor, so an action
+     * already running finishes first, and actions waiting for it never apply to the evicted copy.
+     * Changes not yet written are dropped.
+     */
+    public void evict(Long gameId) {
+        HostedGame game = games.get(gameId);
+        if (game == null) {
+            return;
+        }
+        synchronized (game) {
+            game.evicted = true;
+            games.remove(gameId, game);
+            dirtyGames.remove(gameId);
+        }
+    }
+
+    public boolean isHosted(Long gameId) {
+        return games.containsKey(gameId);
+    }
+
+    public int getHostedGames() {
+        return games.size();
+    }
+
+    public <T> T execute(Long gameId, Function<GameState, T> action) {
+        // Back-pressure: refuse new changes while the event log is too far behind
+        if (!gameEventLog.awaitCapacity()) {
+            throw new ServiceUnavailableException("Game storage is falling behind, try again later");
+        }
+        while (true) {
+            HostedGame game = getOrLoad(gameId);
+            synchronized (game) {
+                if (!game.evicted) {
+                    return apply(gameId, game, action);
+                }
+            }
+        }
+    }
+
+    private <T> T apply(Long gameId, HostedGame game, Function<GameState, T> action) {
+        GameState state = game.state;
+        long version = state.getVersion();
+        long sequence = state.getSequence();
+        int slot = state.getCurrentSlot();
+        T result;
+        try {
+            result = action.apply(state);
+        } finally {
+            if (state.getVersion() != version) {
+                dirtyGames.add(gameId);
+                List<GameDelta> deltas = state.collectChanges();
+                game.journal.append(deltas);
+                // Snapshot whenever the stream crosses a multiple of the interval
+                GameState snapshot = state.getSequence() / snapshotInterval != sequence / snapshotInterval
+                        ? state.copy() : null;
+                boolean turnEnded = state.getCurrentSlot() != slot || state.isFinished();
+                eventPublisher.publishEvent(new GameDeltasEvent(gameId, deltas, snapshot, turnEnded));
+            }
+        }
+        return result;
+    }
+
+    public <T> T read(Long gameId, Function<GameState, T> query) {
+        while (true) {
+            HostedGame game = getOrLoad(gameId);
+            synchronized (game) {
+                if (!game.evicted) {
+                    return query.apply(game.state);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the deltas of a game after {@code seq}, or {@code null} when the client is too far
+     * behind and must reload the full game.
+     */
+    public List<GameDelta> eventsSince(Long gameId, long seq) {
+        while (true) {
+            HostedGame game = getOrLoad(gameId);
+            synchronized (game) {
+                if (!game.evicted) {
+                    return game.journal.since(seq);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns copies of every game changed since the last call and clears their dirty marks.
+     */
+    public List<GameState> drainDirty() {
+        List<GameState> snapshots = new ArrayList<>();
+        for (Long gameId : dirtyGames) {
+            dirtyGames.remove(gameId);
+            HostedGame game = games.get(gameId);
+            if (game == null) {
+                continue;
+            }
+            synchronized (game) {
+                snapshots.add(game.state.copy());
+                game.state.clearDirty();
+            }
+        }
+        return snapshots;
+    }
+
+    /**
+     * Marks the changes of snapshots returned by {@link #drainDirty()} as pending again, after
+     * they could not be written.
+     */
+    public void requeueDirty(List<GameState> snapshots) {
+        for (GameState snapshot : snapshots) {
+            HostedGame game = games.get(snapshot.getGameId());
+            if (game == null) {
+                continue;
+            }
+            synchronized (game) {
+                game.state.markDirty(snapshot.getDirtyCountries(), snapshot.isTurnDirty());
+            }
+            dirtyGames.add(snapshot.getGameId());
+        }
+    }
+
+    public boolean hasDirtyGames() {
+        return !dirtyGames.isEmpty();
+    }
+
+    private HostedGame getOrLoad(Long gameId) {
+        HostedGame game = games.get(gameId);
+        if (game != null) {
+            return game;
+        }
+        // Loaded outside the map, so the query never blocks other games; racing loads keep the first
+        HostedGame loaded = new HostedGame(gameStateLoader.load(gameId), journalCapacity);
+        HostedGame hosted = games.putIfAbsent(gameId, loaded);
+        return hosted != null ? hosted : loaded;
+    }
+}
@@ -0,0 +1,205 @@
+package api.engine;
+
+import api.model.TurnPhase;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Append-only log of every game's deltas in {@code game_events}, plus a {@link GameSnapshot} in
+ * {@code game_snapshots} every {@code teg.engine.snapshot-interval} events. Deltas are only
+ * queued while the game is locked and inserted in batches when {@link GameWriteBehind} flushes,
+ * so the log never adds database latency to an action. When more than
+ * {@code teg.engine.write-behind.max-pending-events} are waiting, new actions wait for the
+ * writer to catch up. A game can be rebuilt from its latest snapshot plus the events after it,
+ * which lets in-flight games survive a restart.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GameEventLog {
+
+    private static final String INSERT_EVENT =
+            "INSERT INTO game_events (game_id, seq, type, country_id, player_id, troops, round, phase, pending_troops) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT DO NOTHING";
+    private static final String INSERT_SNAPSHOT =
+            "INSERT INTO game_snapshots (game_id, seq, state) VALUES (?, ?, ?) ON CONFLICT DO NOTHING";
+    private static final String SELECT_SNAPSHOT =
+            "SELECT state FROM game_snapshots WHERE game_id = ? ORDER BY seq DESC LIMIT 1";
+    private static final String SELECT_EVENTS =
+            "SELECT seq, type, country_id, player_id, troops, round, phase, pending_troops "
+                    + "FROM game_events WHERE game_id = ? AND seq > ? ORDER BY seq";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final WorldMap worldMap;
+    private final Queue<GameDeltasEvent> pending = new ConcurrentLinkedQueue<>();
+    // Drained but not yet written, retried first on the next flush to keep each game in order
+    private final List<GameDeltasEvent> unwritten = new ArrayList<>();
+    private final AtomicInteger pendingEvents = new AtomicInteger();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final ReentrantLock capacityLock = new ReentrantLock();
+    private final Condition capacityFreed = capacityLock.newCondition();
+
+    @Value("${teg.engine.write-behind.max-pending-events:20000}")
+    private int maxPendingEvents;
+
+    @Value("${teg.engine.write-behind.max-wait-ms:1000}")
+    private long maxWaitMillis;
+
+    @EventListener
+    public void onDeltas(GameDeltasEvent event) {
+        pending.add(event);
+        pendingEvents.addAndGet(event.deltas().size());
+    }
+
+    public int getPendingEvents() {
+        return pendingEvents.get();
+    }
+
+    /**
+     * Waits up to {@code teg.engine.write-behind.max-wait-ms} while the log is over its pending
+     * limit. Returns {@code false} if it is still over the limit after that.
+     */
+    public boolean awaitCapacity() {
+        if (pendingEvents.get() < maxPendingEvents) {
+            return true;
+        }
+        long remaining = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        capacityLock.lock();
+        try {
+            while (pendingEvents.get() >= maxPendingEvents) {
+                if (remaining <= 0) {
+                    log.warn("Event log has {} unwritten events, rejecting action", pendingEvents.get());
+                    return false;
+                }
+                remaining = capacityFreed.awaitNanos(remaining);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            capacityLock.unlock();
+        }
+    }
+
+    /**
+     * Writes every queued delta and snapshot in one transaction. Returns {@code false} if they
+     * could not be written; they are kept and retried first on the next flush.
+     */
+    public boolean flush() {
+        flushLock.lock();
+        try {
+            return write();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private boolean write() {
+        for (GameDeltasEvent event; (event = pending.poll()) != null; ) {
+            unwritten.add(event);
+        }
+        if (unwritten.isEmpty()) {
+            return true;
+        }
+        List<Object[]> events = new ArrayList<>();
+        List<Object[]> snapshots = new ArrayList<>();
+        for (GameDeltasEvent event : unwritten) {
+            for (GameDelta delta : event.deltas()) {
+                events.add(toRow(event.gameId(), delta));
+            }
+            if (event.snapshot() != null) {
+                snapshots.add(toRow(event.snapshot()));
+            }
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_EVENT, events);
+                if (!snapshots.isEmpty()) {
+                    jdbcTemplate.batchUpdate(INSERT_SNAPSHOT, snapshots);
+                }
+            });
+            unwritten.clear();
+            log.debug("Appended {} game events and {} snapshots", events.size(), snapshots.size());
+        } catch (Exception e) {
+            log.error("Error appending {} game events, retrying on next flush", events.size(), e);
+            return false;
+        }
+        pendingEvents.addAndGet(-events.size());
+        capacityLock.lock();
+        try {
+            capacityFreed.signalAll();
+        } finally {
+            capacityLock.unlock();
+        }
+        return true;
+    }
+
+    /**
+     * Stores a snapshot right away. Used for the initial board, inside the transaction that
+     * starts the game.
+     */
+    public void saveSnapshot(GameState state) {
+        jdbcTemplate.update(INSERT_SNAPSHOT, toRow(state));
+    }
+
+    /**
+     * Rebuilds a game from its latest snapshot and the events after it, or returns {@code null}
+     * when the game has no snapshot.
+     */
+    public GameState rebuild(long gameId) {
+        List<byte[]> latest = jdbcTemplate.query(SELECT_SNAPSHOT, (rs, row) -> rs.getBytes(1), gameId);
+        if (latest.isEmpty()) {
+            return null;
+        }
+        GameState state = GameSnapshot.decode(latest.get(0), worldMap);
+        long snapshotSeq = state.getSequence();
+        jdbcTemplate.query(SELECT_EVENTS, rs -> {
+            String phase = rs.getString(7);
+            state.apply(new GameDelta(
+                    rs.getLong(1),
+                    GameDelta.Type.valueOf(rs.getString(2)),
+                    rs.getString(3) != null ? worldMap.ordinal(rs.getString(3)) : GameDelta.NONE,
+                    rs.getObject(4) != null ? rs.getLong(4) : GameDelta.NONE,
+                    rs.getObject(5) != null ? rs.getInt(5) : GameDelta.NONE,
+                    rs.getObject(6) != null ? rs.getInt(6) : GameDelta.NONE,
+                    phase != null ? TurnPhase.valueOf(phase) : null,
+                    rs.getObject(8) != null ? rs.getInt(8) : GameDelta.NONE));
+        }, gameId, snapshotSeq);
+        log.debug("Rebuilt game {} from snapshot {} and {} events", gameId, snapshotSeq, state.getSequence() - snapshotSeq);
+        return state;
+    }
+
+    private Object[] toRow(long gameId, GameDelta delta) {
+        return new Object[]{
+                gameId,
+                delta.seq(),
+                delta.type().name(),
+                delta.country() != GameDelta.NONE ? worldMap.id(delta.country()) : null,
+                delta.playerId() != GameDelta.NONE ? delta.playerId() : null,
+                delta.troops() != GameDelta.NONE ? delta.troops() : null,
+                delta.round() != GameDelta.NONE ? delta.round() : null,
+                delta.phase() != null ? delta.phase().name() : null,
+                delta.pendingTroops() != GameDelta.NONE ? delta.pendingTroops() : null
+        };
+    }
+
+    private static Object[] toRow(GameState state) {
+        return new Object[]{state.getGameId(), state.getSequence(), GameSnapshot.encode(state)};
+    }
+}
@@ -0,0 +1,56 @@
+package api.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ring buffer with the most recent deltas of one game, used to let reconnecting clients catch
+ * up from a sequence number instead of refetching the whole board.
+ */
+public final class GameJournal {
+
+    private final GameDelta[] buffer;
+    private final long start;
+    private long latest;
+
+    public GameJournal(int capacity) {
+        this(capacity, 0);
+    }
+
+    /**
+     * Creates a journal for a game whose stream is already at {@code start}, e.g. one rebuilt from
+     * the event log.
+     */
+    public GameJournal(int capacity, long start) {
+        this.buffer = new GameDelta[capacity];
+        this.start = start;
+        this.latest = start;
+    }
+
+    public void append(List<GameDelta> deltas) {
+        for (GameDelta delta : deltas) {
+            buffer[(int) (delta.seq() % buffer.length)] = delta;
+            latest = delta.seq();
+        }
+    }
+
+    public long getLatest() {
+        return latest;
+    }
+
+    /**
+     * Returns every delta after {@code seq}, or {@code null} when some of them were already
+     * overwritten (or {@code seq} is from another incarnation of the game) and the client must
+     * resync from a full snapshot.
+     */
+    public List<GameDelta> since(long seq) {
+        if (seq < start || seq > latest || seq < latest - buffer.length) {
+            return null;
+        }
+        List<GameDelta> deltas = new ArrayList<>((int) (latest - seq));
+        for (long s = seq + 1; s <= latest; s++) {
+            deltas.add(buffer[(int) (s % buffer.length)]);
+        }
+        return deltas;
+    }
+}
@@ -0,0 +1,107 @@
+package api.engine;
+
+import api.model.Objective;
+import api.model.PlayerColor;
+import api.model.TurnPhase;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Compact binary form of a {@link GameState}, stored in {@code game_snapshots}. Countries are
+ * written in map order, so a snapshot can only be read with the map it was taken with.
+ */
+public final class GameSnapshot {
+
+    private static final byte FORMAT = 1;
+    private static final byte NONE = -1;
+
+    private GameSnapshot() {
+    }
+
+    public static byte[] encode(GameState state) {
+        int players = state.getPlayerCount();
+        int countries = state.getCountryCount();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32 + players * 11 + countries * 5);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT);
+            out.writeLong(state.getGameId());
+            out.writeLong(state.getSequence());
+            out.writeByte(players);
+            for (int slot = 0; slot < players; slot++) {
+                out.writeLong(state.getUserId(slot));
+                out.writeByte(ordinal(state.getColor(slot)));
+                out.writeByte(ordinal(state.getObjective(slot)));
+                out.writeByte(state.getTracker().eliminatedBy(slot));
+            }
+            out.writeByte(countries);
+            for (int country = 0; country < countries; country++) {
+                out.writeByte(state.getOwner(country));
+                out.writeInt(state.getTroops(country));
+            }
+            out.writeByte(state.getCurrentSlot());
+            out.writeInt(state.getRound());
+            out.writeByte(ordinal(state.getPhase()));
+            out.writeInt(state.getPendingTroops());
+            out.writeByte(state.getWinner());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static GameState decode(byte[] snapshot, WorldMap map) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(snapshot))) {
+            byte format = in.readByte();
+            if (format != FORMAT) {
+                throw new IllegalStateException("Unknown snapshot format " + format);
+            }
+            long gameId = in.readLong();
+            long sequence = in.readLong();
+            int players = in.readByte();
+            GameState state = new GameState(gameId, players, map);
+            int[] eliminatedBy = new int[players];
+            for (int slot = 0; slot < players; slot++) {
+                long userId = in.readLong();
+                byte color = in.readByte();
+                byte objective = in.readByte();
+                state.setPlayer(slot, userId,
+                        color != NONE ? PlayerColor.values()[color] : null,
+                        objective != NONE ? Objective.values()[objective] : null);
+                eliminatedBy[slot] = in.readByte();
+            }
+            int countries = in.readByte();
+            if (countries != map.size()) {
+                throw new IllegalStateException("Snapshot of game " + gameId + " was taken with another map");
+            }
+            for (int country = 0; country < countries; country++) {
+                int owner = in.readByte();
+                int troops = in.readInt();
+                if (owner != GameState.NO_OWNER) {
+                    state.setCountry(country, owner, troops);
+                }
+            }
+            int currentSlot = in.readByte();
+            int round = in.readInt();
+            byte phase = in.readByte();
+            state.setTurn(currentSlot, round, phase != NONE ? TurnPhase.values()[phase] : null, in.readInt());
+            state.restore(sequence, in.readByte());
+            for (int slot = 0; slot < players; slot++) {
+                if (eliminatedBy[slot] != GameState.NO_OWNER) {
+                    state.restoreElimination(slot, eliminatedBy[slot]);
+                }
+            }
+            return state;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int ordinal(Enum<?> value) {
+        return value != null ? value.ordinal() : NONE;
+    }
+}
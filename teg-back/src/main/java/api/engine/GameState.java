@@ -0,0 +1,477 @@
+package api.engine;
+
+import api.model.Objective;
+import api.model.PlayerColor;
+import api.model.TurnPhase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compact state of an IN_PROGRESS game. Players are stored as slots in turn order and countries
+ * by {@link WorldMap} ordinal, so the whole board is a handful of primitive arrays plus one
+ * territory bitmask per player.
+ * <p>
+ * Instances are not thread-safe; they are only mutated through {@link GameEngine}, which
+ * guarantees a single writer per game.
+ */
+public final class GameState {
+
+    public static final int NO_OWNER = -1;
+    private static final int MIN_REINFORCEMENTS = 3;
+
+    private final long gameId;
+    private final WorldMap map;
+    private final long[] userIds;
+    private final PlayerColor[] colors;
+    private final Objective[] objectives;
+    private final int[] owners;
+    private final int[] troops;
+    private final long[] territories;
+    private final ObjectiveTracker tracker;
+
+    private int currentSlot;
+    private int round;
+    private TurnPhase phase;
+    private int pendingTroops;
+    private int winner = NO_OWNER;
+    private long version;
+    private long dirtyCountries;
+    private boolean turnDirty;
+    private long sequence;
+    private long changedCountries;
+    private long changedOwners;
+    private int eliminatedPlayers;
+    private boolean turnChanged;
+    private boolean finishedChanged;
+
+    public GameState(long gameId, int players, WorldMap map) {
+        this.gameId = gameId;
+        this.map = map;
+        this.userIds = new long[players];
+        this.colors = new PlayerColor[players];
+        this.objectives = new Objective[players];
+        this.owners = new int[map.size()];
+        this.troops = new int[map.size()];
+        this.territories = new long[players];
+        this.tracker = new ObjectiveTracker(map, players);
+        Arrays.fill(owners, NO_OWNER);
+    }
+
+    private GameState(GameState other) {
+        this.gameId = other.gameId;
+        this.map = other.map;
+        this.userIds = other.userIds.clone();
+        this.colors = other.colors.clone();
+        this.objectives = other.objectives.clone();
+        this.owners = other.owners.clone();
+        this.troops = other.troops.clone();
+        this.territories = other.territories.clone();
+        this.tracker = other.tracker.copy();
+        this.currentSlot = other.currentSlot;
+        this.round = other.round;
+        this.phase = other.phase;
+        this.pendingTroops = other.pendingTroops;
+        this.winner = other.winner;
+        this.version = other.version;
+        this.dirtyCountries = other.dirtyCountries;
+        this.turnDirty = other.turnDirty;
+        this.sequence = other.sequence;
+    }
+
+    public GameState copy() {
+        return new GameState(this);
+    }
+
+    // Setup
+
+    public void setPlayer(int slot, long userId, PlayerColor color, Objective objective) {
+        userIds[slot] = userId;
+        colors[slot] = color;
+        objectives[slot] = objective;
+    }
+
+    public void setCountry(int country, int slot, int troopCount) {
+        setOwner(country, slot);
+        troops[country] = troopCount;
+    }
+
+    public void setTurn(int slot, int round, TurnPhase phase, int pendingTroops) {
+        this.currentSlot = slot;
+        this.round = round;
+        this.phase = phase;
+        this.pendingTroops = pendingTroops;
+    }
+
+    // Queries
+
+    public long getGameId() {
+        return gameId;
+    }
+
+    public WorldMap getMap() {
+        return map;
+    }
+
+    public int getPlayerCount() {
+        return userIds.length;
+    }
+
+    public int getCountryCount() {
+        return owners.length;
+    }
+
+    public long getUserId(int slot) {
+        return userIds[slot];
+    }
+
+    public PlayerColor getColor(int slot) {
+        return colors[slot];
+    }
+
+    public Objective getObjective(int slot) {
+        return objectives[slot];
+    }
+
+    public int getOwner(int country) {
+        return owners[country];
+    }
+
+    public int getTroops(int country) {
+        return troops[country];
+    }
+
+    public long getTerritories(int slot) {
+        return territories[slot];
+    }
+
+    public int getCurrentSlot() {
+        return currentSlot;
+    }
+
+    public long getCurrentUserId() {
+        return userIds[currentSlot];
+    }
+
+    public int getRound() {
+        return round;
+    }
+
+    public TurnPhase getPhase() {
+        return phase;
+    }
+
+    public int getPendingTroops() {
+        return pendingTroops;
+    }
+
+    public ObjectiveTracker getTracker() {
+        return tracker;
+    }
+
+    public int getWinner() {
+        return winner;
+    }
+
+    public boolean isFinished() {
+        return winner != NO_OWNER;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public int slotOf(long userId) {
+        for (int slot = 0; slot < userIds.length; slot++) {
+            if (userIds[slot] == userId) {
+                return slot;
+            }
+        }
+        return NO_OWNER;
+    }
+
+    public int countCountries(int slot) {
+        return tracker.countries(slot);
+    }
+
+    public int slotOf(PlayerColor color) {
+        for (int slot = 0; slot < colors.length; slot++) {
+            if (colors[slot] == color) {
+                return slot;
+            }
+        }
+        return NO_OWNER;
+    }
+
+    public boolean isObjectiveAchieved(int slot) {
+        Objective objective = objectives[slot];
+        PlayerColor target = objective != null ? ObjectiveTracker.destroyTarget(objective) : null;
+        return tracker.isAchieved(slot, objective, target != null ? slotOf(target) : NO_OWNER);
+    }
+
+    public int reinforcementsFor(int slot) {
+        return Math.max(MIN_REINFORCEMENTS, countCountries(slot) / 2) + map.continentBonus(territories[slot]);
+    }
+
+    // Turn actions
+
+    public int requireCurrentPlayer(long userId) {
+        if (isFinished()) {
+            throw new RuntimeException("Game is already finished");
+        }
+        int slot = slotOf(userId);
+        if (slot == NO_OWNER) {
+            throw new RuntimeException("Player not found in game");
+        }
+        if (slot != currentSlot) {
+            throw new RuntimeException("It is not your turn");
+        }
+        return slot;
+    }
+
+    public void placeTroops(int slot, int country, int amount) {
+        if (phase != TurnPhase.REINFORCE) {
+            throw new RuntimeException("Troops can only be placed during the reinforce phase");
+        }
+        if (amount <= 0 || amount > pendingTroops) {
+            throw new RuntimeException("Invalid amount of troops");
+        }
+        if (owners[country] != slot) {
+            throw new RuntimeException("Country is not owned by the player");
+        }
+        troops[country] += amount;
+        pendingTroops -= amount;
+        markCountryDirty(country);
+        if (pendingTroops == 0) {
+            phase = TurnPhase.ATTACK;
+        }
+        markTurnDirty();
+    }
+
+    public void fortify(int slot, int from, int to, int amount) {
+        if (phase != TurnPhase.ATTACK && phase != TurnPhase.FORTIFY) {
+            throw new RuntimeException("Troops can only be moved after reinforcing");
+        }
+        if (owners[from] != slot || owners[to] != slot) {
+            throw new RuntimeException("Both countries must be owned by the player");
+        }
+        if (amount <= 0 || amount >= troops[from]) {
+            throw new RuntimeException("At least one troop must stay behind");
+        }
+        if (!map.canReach(from, to, territories[slot])) {
+            throw new RuntimeException("Countries are not connected through the player's territory");
+        }
+        troops[from] -= amount;
+        troops[to] += amount;
+        markCountryDirty(from);
+        markCountryDirty(to);
+        if (phase != TurnPhase.FORTIFY) {
+            phase = TurnPhase.FORTIFY;
+            markTurnDirty();
+        }
+    }
+
+    public void requireAttack(int slot, int from, int to) {
+        if (phase != TurnPhase.ATTACK) {
+            throw new RuntimeException("Attacks are only allowed during the attack phase");
+        }
+        if (owners[from] != slot) {
+            throw new RuntimeException("Attacking country is not owned by the player");
+        }
+        if (owners[to] == slot) {
+            throw new RuntimeException("Cannot attack your own country");
+        }
+        if (!map.borders(from, to)) {
+            throw new RuntimeException("Countries do not share a border");
+        }
+        if (troops[from] < 2) {
+            throw new RuntimeException("At least two troops are needed to attack");
+        }
+    }
+
+    public void applyLosses(int from, int to, int attackerLosses, int defenderLosses) {
+        troops[from] -= attackerLosses;
+        troops[to] -= defenderLosses;
+        markCountryDirty(from);
+        markCountryDirty(to);
+    }
+
+    /**
+     * Hands an emptied country over to the owner of {@code from}, moving {@code moved} troops in.
+     * Returns the slot of the previous owner, who is marked as eliminated if this was their last
+     * country.
+     */
+    public int conquer(int from, int to, int moved) {
+        int previous = owners[to];
+        setOwner(to, owners[from]);
+        troops[from] -= moved;
+        troops[to] = moved;
+        markCountryDirty(from);
+        markCountryDirty(to);
+        changedOwners |= 1L << to;
+        if (tracker.countries(previous) == 0) {
+            tracker.onEliminated(previous, owners[from]);
+            eliminatedPlayers |= 1 << previous;
+        }
+        return previous;
+    }
+
+    public void declareWinner(int slot) {
+        winner = slot;
+        finishedChanged = true;
+        markTurnDirty();
+    }
+
+    public void endTurn(int slot) {
+        if (pendingTroops > 0) {
+            throw new RuntimeException("All reinforcements must be placed before ending the turn");
+        }
+        int next = slot;
+        do {
+            next = (next + 1) % userIds.length;
+            if (next == 0) {
+                round++;
+            }
+        } while (next != slot && countCountries(next) == 0);
+        currentSlot = next;
+        phase = TurnPhase.REINFORCE;
+        pendingTroops = reinforcementsFor(next);
+        markTurnDirty();
+    }
+
+    /**
+     * Ends the current turn on behalf of a player who ran out of time. Pending reinforcements are
+     * placed on their strongest country, as the turn cannot end with troops left to place.
+     */
+    public void skipTurn() {
+        if (isFinished()) {
+            throw new RuntimeException("Game is already finished");
+        }
+        int slot = currentSlot;
+        if (phase == TurnPhase.REINFORCE && pendingTroops > 0) {
+            int strongest = NO_OWNER;
+            for (long own = territories[slot]; own != 0; own &= own - 1) {
+                int country = Long.numberOfTrailingZeros(own);
+                if (strongest == NO_OWNER || troops[country] > troops[strongest]) {
+                    strongest = country;
+                }
+            }
+            placeTroops(slot, strongest, pendingTroops);
+        }
+        endTurn(slot);
+    }
+
+    // Event stream
+
+    /**
+     * Replays a delta read back from the event log. Unlike the turn actions it applies the
+     * recorded values as they are and records no changes.
+     */
+    void apply(GameDelta delta) {
+        switch (delta.type()) {
+            case TROOPS_CHANGED -> troops[delta.country()] = delta.troops();
+            case OWNER_CHANGED -> {
+                setOwner(delta.country(), slotOf(delta.playerId()));
+                troops[delta.country()] = delta.troops();
+            }
+            // Players are only eliminated by the attacks of the player in turn
+            case PLAYER_ELIMINATED -> tracker.onEliminated(slotOf(delta.playerId()), currentSlot);
+            case TURN_CHANGED -> setTurn(slotOf(delta.playerId()), delta.round(), delta.phase(), delta.pendingTroops());
+            case GAME_FINISHED -> winner = slotOf(delta.playerId());
+        }
+        sequence = delta.seq();
+    }
+
+
+    /**
+     * Turns everything changed since the previous call into sequenced deltas and resets the
+     * change tracking.
+     */
+    public List<GameDelta> collectChanges() {
+        List<GameDelta> deltas = new ArrayList<>(Long.bitCount(changedCountries) + 2);
+        for (long bits = changedCountries; bits != 0; bits &= bits - 1) {
+            int country = Long.numberOfTrailingZeros(bits);
+            if ((changedOwners & (1L << country)) != 0) {
+                deltas.add(GameDelta.owner(++sequence, country, userIds[owners[country]], troops[country]));
+            } else {
+                deltas.add(GameDelta.troops(++sequence, country, troops[country]));
+            }
+        }
+        for (int bits = eliminatedPlayers; bits != 0; bits &= bits - 1) {
+            long userId = userIds[Integer.numberOfTrailingZeros(bits)];
+            deltas.add(GameDelta.player(++sequence, GameDelta.Type.PLAYER_ELIMINATED, userId));
+        }
+        if (turnChanged) {
+            deltas.add(GameDelta.turn(++sequence, userIds[currentSlot], round, phase, pendingTroops));
+        }
+        if (finishedChanged) {
+            deltas.add(GameDelta.player(++sequence, GameDelta.Type.GAME_FINISHED, userIds[winner]));
+        }
+        changedCountries = 0;
+        changedOwners = 0;
+        eliminatedPlayers = 0;
+        turnChanged = false;
+        finishedChanged = false;
+        return deltas;
+    }
+
+    // Persistence bookkeeping
+
+    void restore(long sequence, int winner) {
+        this.sequence = sequence;
+        this.winner = winner;
+    }
+
+    void restoreElimination(int slot, int by) {
+        tracker.onEliminated(slot, by);
+    }
+
+    public long getDirtyCountries() {
+        return dirtyCountries;
+    }
+
+    public boolean isTurnDirty() {
+        return turnDirty;
+    }
+
+    public boolean isDirty() {
+        return dirtyCountries != 0 || turnDirty;
+    }
+
+    public void clearDirty() {
+        dirtyCountries = 0;
+        turnDirty = false;
+    }
+
+    void markDirty(long countries, boolean turn) {
+        dirtyCountries |= countries;
+        turnDirty |= turn;
+    }
+
+    private void setOwner(int country, int slot) {
+        int previous = owners[country];
+        if (previous != NO_OWNER) {
+            territories[previous] &= ~(1L << country);
+        }
+        owners[country] = slot;
+        territories[slot] |= 1L << country;
+        tracker.onOwnerChange(country, previous, slot);
+    }
+
+    private void markCountryDirty(int country) {
+        dirtyCountries |= 1L << country;
+        changedCountries |= 1L << country;
+        version++;
+    }
+
+    private void markTurnDirty() {
+        turnDirty = true;
+        turnChanged = true;
+        version++;
+    }
+}
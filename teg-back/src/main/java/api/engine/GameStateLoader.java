@@ -0,0 +1,58 @@
+package api.engine;
+
+import api.model.*;
+import api.repository.GameRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Comparator;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GameStateLoader {
+
+    private final GameRepository gameRepository;
+    private final WorldMap worldMap;
+    private final GameEventLog gameEventLog;
+
+    @Transactional(readOnly = true)
+    public GameState load(Long gameId) {
+        Game game = gameRepository.findWithBoardById(gameId)
+                .orElseThrow(() -> new RuntimeException("Game not found"));
+        if (game.getStatus() != GameStatus.IN_PROGRESS) {
+            throw new RuntimeException("Game is not in progress");
+        }
+        // The event log is ahead of the board rows, which are only rewritten periodically
+        GameState rebuilt = gameEventLog.rebuild(gameId);
+        if (rebuilt != null) {
+            return rebuilt;
+        }
+        log.debug("Game {} has no snapshot, loading it from the board rows", gameId);
+        return fromGame(game);
+    }
+
+    public GameState fromGame(Game game) {
+        List<GamePlayer> players = game.getPlayers().stream()
+                .sorted(Comparator.comparing(GamePlayer::getTurnOrder))
+                .toList();
+        GameState state = new GameState(game.getId(), players.size(), worldMap);
+        for (int slot = 0; slot < players.size(); slot++) {
+            GamePlayer player = players.get(slot);
+            state.setPlayer(slot, player.getId().getUserId(), player.getColor(), player.getObjective());
+            for (PlayerCountry pc : player.getPlayerCountries()) {
+                state.setCountry(worldMap.ordinal(pc.getId().getCountryId()), slot, pc.getTroops());
+            }
+        }
+
+        if (game.getPhase() != null) {
+            state.setTurn(game.getCurrentTurn(), game.getRound(), game.getPhase(), game.getPendingTroops());
+        } else {
+            state.setTurn(0, 1, TurnPhase.REINFORCE, state.reinforcementsFor(0));
+        }
+        return state;
+    }
+}
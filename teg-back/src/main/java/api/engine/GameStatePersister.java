@@ -0,0 +1,117 @@
+package api.engine;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes the games changed in {@link GameEngine} back to the database, when
+ * {@link GameWriteBehind} asks for it. Only the countries touched since the previous flush are
+ * updated, so any number of actions on a game coalesce into one set of updates.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GameStatePersister {
+
+    private static final String UPDATE_COUNTRY =
+            "UPDATE player_countries SET user_id = ?, troops = ? WHERE game_id = ? AND country_id = ?";
+    private static final String UPDATE_TURN =
+            "UPDATE games SET current_turn = ?, round = ?, phase = ?, pending_troops = ?, updated_at = now() WHERE id = ?";
+    private static final String FINISH_GAME =
+            "UPDATE games SET status = 'FINISHED', winner_id = ?, updated_at = now() WHERE id = ?";
+
+    private static final String INSERT_BOARD_PREFIX =
+            "WITH objectives AS (UPDATE game_players gp SET objective = v.objective FROM (VALUES ";
+    private static final String INSERT_BOARD_MIDDLE =
+            ") AS v(user_id, objective) WHERE gp.game_id = ? AND gp.user_id = v.user_id) "
+                    + "INSERT INTO player_countries (game_id, user_id, country_id, troops) VALUES ";
+
+    private final GameEngine gameEngine;
+    private final WorldMap worldMap;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Returns {@code false} if the changes could not be written, in which case they are marked
+     * dirty again and retried with the next flush.
+     */
+    public boolean flush() {
+        List<GameState> snapshots = gameEngine.drainDirty();
+        if (snapshots.isEmpty()) {
+            return true;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> snapshots.forEach(this::write));
+            log.debug("Persisted {} game states", snapshots.size());
+            snapshots.stream()
+                    .filter(GameState::isFinished)
+                    .forEach(state -> gameEngine.evict(state.getGameId()));
+            return true;
+        } catch (Exception e) {
+            log.error("Error persisting game states", e);
+            gameEngine.requeueDirty(snapshots);
+            return false;
+        }
+    }
+
+    /**
+     * Writes the initial board and the objective of every player of a game that is starting, in a
+     * single multi-row statement. Must run inside the transaction that starts the game.
+     */
+    public void insertBoard(GameState state) {
+        int players = state.getPlayerCount();
+        int countries = state.getCountryCount();
+        StringBuilder sql = new StringBuilder(INSERT_BOARD_PREFIX);
+        List<Object> args = new ArrayList<>(players * 2 + 1 + countries * 4);
+        for (int slot = 0; slot < players; slot++) {
+            sql.append(slot == 0 ? "" : ", ").append("(?::bigint, ?::varchar)");
+            args.add(state.getUserId(slot));
+            args.add(state.getObjective(slot) != null ? state.getObjective(slot).name() : null);
+        }
+        sql.append(INSERT_BOARD_MIDDLE);
+        args.add(state.getGameId());
+        for (int country = 0; country < countries; country++) {
+            sql.append(country == 0 ? "" : ", ").append("(?, ?, ?, ?)");
+            args.add(state.getGameId());
+            args.add(state.getUserId(state.getOwner(country)));
+            args.add(worldMap.id(country));
+            args.add(state.getTroops(country));
+        }
+        jdbcTemplate.update(sql.toString(), args.toArray());
+        log.debug("Inserted initial board of game {} ({} countries, {} players)", state.getGameId(), countries, players);
+    }
+
+    private void write(GameState state) {
+        long dirty = state.getDirtyCountries();
+        if (dirty != 0) {
+            List<Object[]> rows = new ArrayList<>(Long.bitCount(dirty));
+            for (long bits = dirty; bits != 0; bits &= bits - 1) {
+                int country = Long.numberOfTrailingZeros(bits);
+                rows.add(new Object[]{
+                        state.getUserId(state.getOwner(country)),
+                        state.getTroops(country),
+                        state.getGameId(),
+                        worldMap.id(country)
+                });
+            }
+            jdbcTemplate.batchUpdate(UPDATE_COUNTRY, rows);
+        }
+        if (state.isTurnDirty()) {
+            jdbcTemplate.update(UPDATE_TURN,
+                    state.getCurrentSlot(),
+                    state.getRound(),
+                    state.getPhase().name(),
+                    state.getPendingTroops(),
+                    state.getGameId());
+        }
+        if (state.isFinished()) {
+            jdbcTemplate.update(FINISH_GAME, state.getUserId(state.getWinner()), state.getGameId());
+        }
+    }
+}
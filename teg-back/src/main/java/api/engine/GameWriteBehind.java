@@ -0,0 +1,189 @@
+package api.engine;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind for game actions. Actions change the in-memory game and are acknowledged right
+ * away; a single writer thread appends their deltas to the {@link GameEventLog} and rewrites the
+ * changed board rows through the {@link GameStatePersister}, every
+ * {@code teg.engine.flush-interval-ms} or as soon as a turn ends or the backlog reaches
+ * {@code teg.engine.write-behind.flush-threshold} events.
+ * <p>
+ * Durability: an action is durable once the flush that follows it commits its events, normally
+ * within one flush interval. With {@code teg.engine.write-behind.durable-turn-end} (the default)
+ * ending a turn is only acknowledged once everything up to it is in the event log, so a crash can
+ * at most lose the actions of the turn in progress. On shutdown the writer stops after the web
+ * server and drains whatever is still queued.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GameWriteBehind implements SmartLifecycle {
+
+    private static final int DRAIN_ATTEMPTS = 3;
+
+    private final GameEventLog gameEventLog;
+    private final GameStatePersister gameStatePersister;
+    private final GameEngine gameEngine;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition wakeUp = lock.newCondition();
+    private final Condition flushed = lock.newCondition();
+
+    @Value("${teg.engine.flush-interval-ms:200}")
+    private long flushIntervalMillis;
+
+    @Value("${teg.engine.write-behind.flush-threshold:1000}")
+    private int flushThreshold;
+
+    @Value("${teg.engine.write-behind.durable-turn-end:true}")
+    private boolean durableTurnEnd;
+
+    @Value("${teg.engine.write-behind.turn-end-timeout-ms:2000}")
+    private long turnEndTimeoutMillis;
+
+    // Guarded by lock
+    private boolean flushRequested;
+    private long startedFlushes;
+    private long durableFlushes;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    @EventListener
+    public void onDeltas(GameDeltasEvent event) {
+        if (event.turnEnded() || gameEventLog.getPendingEvents() >= flushThreshold) {
+            requestFlush();
+        }
+    }
+
+    public void requestFlush() {
+        lock.lock();
+        try {
+            flushRequested = true;
+            wakeUp.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits until every action acknowledged before the call is in the event log, when durable
+     * turn ends are enabled. Gives up after {@code teg.engine.write-behind.turn-end-timeout-ms}.
+     */
+    public void awaitTurnEnd() {
+        if (!durableTurnEnd || !running) {
+            return;
+        }
+        long remaining = TimeUnit.MILLISECONDS.toNanos(turnEndTimeoutMillis);
+        lock.lock();
+        try {
+            // Only a flush that starts after this point is sure to include the caller's events
+            long target = startedFlushes + 1;
+            flushRequested = true;
+            wakeUp.signal();
+            while (durableFlushes < target) {
+                if (remaining <= 0) {
+                    log.warn("Turn end was not written within {} ms", turnEndTimeoutMillis);
+                    return;
+                }
+                remaining = flushed.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writer = new Thread(this::run, "game-write-behind");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        requestFlush();
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drain();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Stop after the web server (DEFAULT_PHASE - 1024 and - 2048) so no action arrives mid-drain
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void run() {
+        while (running) {
+            lock.lock();
+            try {
+                if (!flushRequested) {
+                    wakeUp.await(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+            flushOnce();
+        }
+    }
+
+    private boolean flushOnce() {
+        long flush;
+        lock.lock();
+        try {
+            flushRequested = false;
+            flush = ++startedFlushes;
+        } finally {
+            lock.unlock();
+        }
+        boolean durable = gameEventLog.flush();
+        // Board rows must never get ahead of the event log, which loading a game replays on top of
+        // them; changed games stay dirty until a flush gets their events in first
+        boolean written = durable && gameStatePersister.flush();
+        if (durable) {
+            lock.lock();
+            try {
+                durableFlushes = flush;
+                flushed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+        return durable && written;
+    }
+
+    private void drain() {
+        for (int attempt = 1; attempt <= DRAIN_ATTEMPTS; attempt++) {
+            if (flushOnce() && gameEventLog.getPendingEvents() == 0 && !gameEngine.hasDirtyGames()) {
+                log.info("Game write-behind drained");
+                return;
+            }
+        }
+        log.error("Game write-behind could not drain, {} events were not written", gameEventLog.getPendingEvents());
+    }
+}
@@ -0,0 +1,19 @@
+package api.engine;
+
+/**
+ * A game hosted by the {@link GameEngine}: its live state plus its recent event stream. The
+ * instance is the monitor guarding both, and its eviction: callers that got the instance before it
+ * was evicted find out once they hold the monitor, and look the game up again.
+ */
+final class HostedGame {
+
+    final GameState state;
+    final GameJournal journal;
+    // Guarded by the instance monitor
+    boolean evicted;
+
+    HostedGame(GameState state, int journalCapacity) {
+        this.state = state;
+        this.journal = new GameJournal(journalCapacity, state.getSequence());
+    }
+}
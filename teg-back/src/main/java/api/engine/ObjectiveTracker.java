@@ -0,0 +1,159 @@
+package api.engine;
+
+import api.model.Continent;
+import api.model.Objective;
+import api.model.PlayerColor;
+
+import java.util.Arrays;
+
+/**
+ * Running per-player counters behind objective checks: countries owned, countries owned per
+ * continent, completed continents and who eliminated whom. Every ownership change updates the
+ * counters in O(1), so checking any objective after a conquest is a constant-time lookup instead
+ * of a rescan of the board.
+ */
+public final class ObjectiveTracker {
+
+    public static final int COMMON_OBJECTIVE_COUNTRIES = 30;
+    public static final int FALLBACK_OBJECTIVE_COUNTRIES = 24;
+    private static final int CONTINENTS = Continent.values().length;
+    private static final int[] REQUIRED_CONTINENTS = new int[Objective.values().length];
+
+    static {
+        REQUIRED_CONTINENTS[Objective.CONQUER_NORTH_AMERICA_AND_AFRICA.ordinal()] =
+                bit(Continent.NORTH_AMERICA) | bit(Continent.AFRICA);
+        REQUIRED_CONTINENTS[Objective.CONQUER_SOUTH_AMERICA_AND_ASIA.ordinal()] =
+                bit(Continent.SOUTH_AMERICA) | bit(Continent.ASIA);
+        REQUIRED_CONTINENTS[Objective.CONQUER_EUROPE_AND_OCEANIA.ordinal()] =
+                bit(Continent.EUROPE) | bit(Continent.OCEANIA);
+        REQUIRED_CONTINENTS[Objective.CONQUER_SOUTH_AMERICA_AND_AFRICA.ordinal()] =
+                bit(Continent.SOUTH_AMERICA) | bit(Continent.AFRICA);
+        REQUIRED_CONTINENTS[Objective.CONQUER_NORTH_AMERICA_AND_EUROPE.ordinal()] =
+                bit(Continent.NORTH_AMERICA) | bit(Continent.EUROPE);
+        REQUIRED_CONTINENTS[Objective.CONQUER_ASIA_AND_OCEANIA.ordinal()] =
+                bit(Continent.ASIA) | bit(Continent.OCEANIA);
+    }
+
+    private final WorldMap map;
+    private final int[] countries;
+    private final int[] continentCountries;
+    private final int[] completedContinents;
+    private final int[] eliminatedBy;
+    private int alivePlayers;
+
+    ObjectiveTracker(WorldMap map, int players) {
+        this.map = map;
+        this.countries = new int[players];
+        this.continentCountries = new int[players * CONTINENTS];
+        this.completedContinents = new int[players];
+        this.eliminatedBy = new int[players];
+        Arrays.fill(eliminatedBy, GameState.NO_OWNER);
+        this.alivePlayers = players;
+    }
+
+    private ObjectiveTracker(ObjectiveTracker other) {
+        this.map = other.map;
+        this.countries = other.countries.clone();
+        this.continentCountries = other.continentCountries.clone();
+        this.completedContinents = other.completedContinents.clone();
+        this.eliminatedBy = other.eliminatedBy.clone();
+        this.alivePlayers = other.alivePlayers;
+    }
+
+    ObjectiveTracker copy() {
+        return new ObjectiveTracker(this);
+    }
+
+    void onOwnerChange(int country, int previous, int next) {
+        Continent owner = map.continentOf(country);
+        int continent = owner.ordinal();
+        int size = Long.bitCount(map.countriesOf(owner));
+        if (previous != GameState.NO_OWNER) {
+            countries[previous]--;
+            if (continentCountries[previous * CONTINENTS + continent]-- == size) {
+                completedContinents[previous] &= ~(1 << continent);
+            }
+        }
+        countries[next]++;
+        if (++continentCountries[next * CONTINENTS + continent] == size) {
+            completedContinents[next] |= 1 << continent;
+        }
+    }
+
+    void onEliminated(int slot, int by) {
+        if (eliminatedBy[slot] == GameState.NO_OWNER) {
+            eliminatedBy[slot] = by;
+            alivePlayers--;
+        }
+    }
+
+    public int countries(int slot) {
+        return countries[slot];
+    }
+
+    public int countries(int slot, Continent continent) {
+        return continentCountries[slot * CONTINENTS + continent.ordinal()];
+    }
+
+    public int completedContinents(int slot) {
+        return Integer.bitCount(completedContinents[slot]);
+    }
+
+    public boolean isAlive(int slot) {
+        return eliminatedBy[slot] == GameState.NO_OWNER;
+    }
+
+    int eliminatedBy(int slot) {
+        return eliminatedBy[slot];
+    }
+
+    public int getAlivePlayers() {
+        return alivePlayers;
+    }
+
+    /**
+     * Checks the player's secret objective or the common objective of 30 countries. A destroy
+     * objective whose target was eliminated by someone else falls back to 24 countries.
+     */
+    public boolean isAchieved(int slot, Objective objective, int destroyTargetSlot) {
+        if (countries[slot] >= COMMON_OBJECTIVE_COUNTRIES) {
+            return true;
+        }
+        if (objective == null) {
+            return false;
+        }
+        int required = REQUIRED_CONTINENTS[objective.ordinal()];
+        if (required != 0) {
+            return (completedContinents[slot] & required) == required;
+        }
+        return switch (objective) {
+            case CONQUER_30_COUNTRIES -> false;
+            case CONQUER_24_COUNTRIES -> countries[slot] >= FALLBACK_OBJECTIVE_COUNTRIES;
+            case CONQUER_TWO_CONTINENTS -> Integer.bitCount(completedContinents[slot]) >= 2;
+            default -> isDestroyAchieved(slot, destroyTargetSlot);
+        };
+    }
+
+    private boolean isDestroyAchieved(int slot, int target) {
+        if (target == GameState.NO_OWNER || target == slot || (!isAlive(target) && eliminatedBy[target] != slot)) {
+            return countries[slot] >= FALLBACK_OBJECTIVE_COUNTRIES;
+        }
+        return eliminatedBy[target] == slot;
+    }
+
+    public static PlayerColor destroyTarget(Objective objective) {
+        return switch (objective) {
+            case DESTROY_RED -> PlayerColor.RED;
+            case DESTROY_BLUE -> PlayerColor.BLUE;
+            case DESTROY_GREEN -> PlayerColor.GREEN;
+            case DESTROY_YELLOW -> PlayerColor.YELLOW;
+            case DESTROY_BLACK -> PlayerColor.BLACK;
+            case DESTROY_WHITE -> PlayerColor.WHITE;
+            default -> null;
+        };
+    }
+
+    private static int bit(Continent continent) {
+        return 1 << continent.ordinal();
+    }
+}
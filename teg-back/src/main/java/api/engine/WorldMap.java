@@ -0,0 +1,175 @@
+package api.engine;
+
+import api.model.Continent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable board topology. Countries are numbered by ordinal (continent by continent, in the
+ * order of the map resource) and every set of countries is a {@code long} bitmask, so border,
+ * continent and reachability checks are plain bitwise operations.
+ */
+public final class WorldMap {
+
+    public static final String DEFAULT_RESOURCE = "map/world-v1.json";
+    private static final int MAX_COUNTRIES = Long.SIZE;
+
+    private final int version;
+    private final String[] ids;
+    private final Map<String, Integer> ordinals;
+    private final long[] adjacency;
+    private final Continent[] continents;
+    private final long[] continentMasks;
+    private final int[] continentBonus;
+    private final long allCountries;
+
+    private WorldMap(MapDefinition definition) {
+        this.version = definition.version();
+        this.continentMasks = new long[Continent.values().length];
+        this.continentBonus = new int[Continent.values().length];
+
+        int size = definition.continents().stream().mapToInt(c -> c.countries().size()).sum();
+        if (size > MAX_COUNTRIES) {
+            throw new IllegalStateException("Map has " + size + " countries, at most " + MAX_COUNTRIES + " are supported");
+        }
+        this.ids = new String[size];
+        this.continents = new Continent[size];
+        this.ordinals = new HashMap<>();
+        int ordinal = 0;
+        for (ContinentDefinition continent : definition.continents()) {
+            Continent id = Continent.valueOf(continent.id());
+            continentBonus[id.ordinal()] = continent.bonus();
+            for (String country : continent.countries()) {
+                if (ordinals.put(country, ordinal) != null) {
+                    throw new IllegalStateException("Country " + country + " is defined twice");
+                }
+                ids[ordinal] = country;
+                continents[ordinal] = id;
+                continentMasks[id.ordinal()] |= 1L << ordinal;
+                ordinal++;
+            }
+        }
+        this.allCountries = size == MAX_COUNTRIES ? -1L : (1L << size) - 1;
+
+        this.adjacency = new long[size];
+        definition.borders().forEach((country, neighbours) -> {
+            int from = ordinal(country);
+            for (String neighbour : neighbours) {
+                adjacency[from] |= 1L << ordinal(neighbour);
+            }
+        });
+        for (int a = 0; a < size; a++) {
+            for (long bits = adjacency[a]; bits != 0; bits &= bits - 1) {
+                int b = Long.numberOfTrailingZeros(bits);
+                if (!borders(b, a)) {
+                    throw new IllegalStateException("Border " + ids[a] + " -> " + ids[b] + " is not symmetric");
+                }
+            }
+        }
+    }
+
+    public static WorldMap load(String resource) {
+        try (InputStream in = new ClassPathResource(resource).getInputStream()) {
+            return new WorldMap(new ObjectMapper().readValue(in, MapDefinition.class));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not load map " + resource, e);
+        }
+    }
+
+    public static WorldMap loadDefault() {
+        return load(DEFAULT_RESOURCE);
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public String id(int ordinal) {
+        return ids[ordinal];
+    }
+
+    public int ordinal(String countryId) {
+        Integer ordinal = ordinals.get(countryId);
+        if (ordinal == null) {
+            throw new RuntimeException("Unknown country: " + countryId);
+        }
+        return ordinal;
+    }
+
+    public long allCountries() {
+        return allCountries;
+    }
+
+    public long neighbours(int country) {
+        return adjacency[country];
+    }
+
+    public boolean borders(int from, int to) {
+        return (adjacency[from] & (1L << to)) != 0;
+    }
+
+    public Continent continentOf(int country) {
+        return continents[country];
+    }
+
+    public long countriesOf(Continent continent) {
+        return continentMasks[continent.ordinal()];
+    }
+
+    public int bonusOf(Continent continent) {
+        return continentBonus[continent.ordinal()];
+    }
+
+    public boolean ownsContinent(long territories, Continent continent) {
+        long mask = continentMasks[continent.ordinal()];
+        return (territories & mask) == mask;
+    }
+
+    public int continentBonus(long territories) {
+        int bonus = 0;
+        for (int c = 0; c < continentMasks.length; c++) {
+            if ((territories & continentMasks[c]) == continentMasks[c]) {
+                bonus += continentBonus[c];
+            }
+        }
+        return bonus;
+    }
+
+    /**
+     * Returns every country in {@code territories} connected to {@code from} through a chain of
+     * bordering countries that are all in {@code territories}.
+     */
+    public long reachable(int from, long territories) {
+        long visited = 1L << from;
+        long frontier = visited;
+        while (frontier != 0) {
+            long next = 0;
+            for (long bits = frontier; bits != 0; bits &= bits - 1) {
+                next |= adjacency[Long.numberOfTrailingZeros(bits)];
+            }
+            frontier = next & territories & ~visited;
+            visited |= frontier;
+        }
+        return visited;
+    }
+
+    public boolean canReach(int from, int to, long territories) {
+        return (reachable(from, territories) & (1L << to)) != 0;
+    }
+
+    private record MapDefinition(int version, List<ContinentDefinition> continents, Map<String, List<String>> borders) {
+    }
+
+    private record ContinentDefinition(String id, int bonus, List<String> countries) {
+    }
+}
@@ -0,0 +1,52 @@
+package api.metrics;
+
+import api.model.GameStatus;
+import api.repository.GameRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code teg.games} gauge with the number of games in each status. The counts come from a single
+ * grouped query refreshed every {@code teg.metrics.games-refresh-ms}, never from the scrape.
+ */
+@Component
+@Slf4j
+public class GameStatusMetrics {
+
+    private final GameRepository gameRepository;
+    private final MultiGauge games;
+
+    public GameStatusMetrics(GameRepository gameRepository, MeterRegistry meterRegistry) {
+        this.gameRepository = gameRepository;
+        this.games = MultiGauge.builder("teg.games")
+                .description("Games per status")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${teg.metrics.games-refresh-ms:30000}", initialDelay = 5000)
+    public void refresh() {
+        Map<GameStatus, Long> counts = new EnumMap<>(GameStatus.class);
+        for (GameStatus status : GameStatus.values()) {
+            counts.put(status, 0L);
+        }
+        try {
+            for (Object[] row : gameRepository.countByStatus()) {
+                counts.put((GameStatus) row[0], (Long) row[1]);
+            }
+        } catch (Exception e) {
+            log.warn("Could not refresh game status metrics: {}", e.getMessage());
+            return;
+        }
+        games.register(counts.entrySet().stream()
+                .<MultiGauge.Row<?>>map(entry -> MultiGauge.Row.of(Tags.of("status", entry.getKey().name()), entry.getValue()))
+                .toList(), true);
+    }
+}
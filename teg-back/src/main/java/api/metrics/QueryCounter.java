@@ -0,0 +1,46 @@
+package api.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the SQL statements Hibernate prepares, in total and for the current thread, so
+ * {@link QueryCountFilter} can report how many queries each request ran. Plugged into Hibernate
+ * as its statement inspector; statements issued through {@code JdbcTemplate} are not counted.
+ * Work handed to another thread on behalf of a request is credited back with {@link #add}.
+ */
+@Component
+public class QueryCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> CURRENT = ThreadLocal.withInitial(() -> new int[1]);
+
+    private final LongAdder total = new LongAdder();
+
+    @Override
+    public String inspect(String sql) {
+        CURRENT.get()[0]++;
+        total.increment();
+        return sql;
+    }
+
+    public void reset() {
+        CURRENT.get()[0] = 0;
+    }
+
+    public int current() {
+        return CURRENT.get()[0];
+    }
+
+    /**
+     * Credits the current thread with statements another thread ran on its behalf.
+     */
+    public void add(int statements) {
+        CURRENT.get()[0] += statements;
+    }
+
+    public long total() {
+        return total.sum();
+    }
+}
@@ -0,0 +1,10 @@
+package api.model;
+
+public enum Continent {
+    SOUTH_AMERICA,
+    NORTH_AMERICA,
+    EUROPE,
+    ASIA,
+    OCEANIA,
+    AFRICA
+}
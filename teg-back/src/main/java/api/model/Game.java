@@ -37,6 +37,19 @@ public class Game {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Column(name = "current_turn")
+    private Integer currentTurn;
+
+    @Column(name = "round")
+    private Integer round;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "phase")
+    private TurnPhase phase;
+
+    @Column(name = "pending_troops")
+    private Integer pendingTroops;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "winner_id")
     private User winner;
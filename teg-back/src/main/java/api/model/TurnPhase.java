@@ -0,0 +1,7 @@
+package api.model;
+
+public enum TurnPhase {
+    REINFORCE,
+    ATTACK,
+    FORTIFY
+}
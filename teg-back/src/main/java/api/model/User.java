@@ -54,6 +54,11 @@ public class User implements UserDetails {
     @Column(name = "is_active")
     private Boolean isActive = true;
 
+    // Server-side bot players; they cannot log in
+    @Column(name = "is_bot")
+    @Builder.Default
+    private Boolean isBot = false;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -1,14 +1,42 @@
 package api.repository;
 
+import api.dto.LobbyGameRow;
 import api.model.Game;
 import api.model.GameStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface GameRepository extends JpaRepository<Game, Long> {
     List<Game> findByStatus(GameStatus status);
     List<Game> findByCreatedById(Long userId);
-} 
\ No newline at end of file
+    boolean existsByIdAndPlayersUserId(Long gameId, Long userId);
+
+    @EntityGraph(attributePaths = {"createdBy", "players", "players.user", "players.playerCountries"})
+    Optional<Game> findWithBoardById(Long id);
+
+    @Query("""
+            select new api.dto.LobbyGameRow(
+                g.id, g.name, g.maxPlayers, g.status, g.createdAt,
+                c.id, c.username, c.email,
+                u.id, u.username, u.email, gp.color, gp.turnOrder, gp.joinedAt, u.isBot)
+            from Game g
+            join g.createdBy c
+            left join g.players gp
+            left join gp.user u
+            where g.status = :status
+            order by g.id, gp.turnOrder
+            """)
+    List<LobbyGameRow> findLobbyRowsByStatus(GameStatus status);
+
+    @Query("select g.id from Game g where g.status = :status")
+    List<Long> findIdsByStatus(GameStatus status);
+
+    @Query("select g.status, count(g) from Game g group by g.status")
+    List<Object[]> countByStatus();
+}
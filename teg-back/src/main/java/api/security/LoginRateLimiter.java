@@ -0,0 +1,98 @@
+package api.security;
+
+import api.exception.TooManyRequestsException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Admission control for login and registration: a token bucket per client IP and another per
+ * account, refilled continuously up to a per-minute budget. Requests over budget are rejected
+ * before any password hashing is done.
+ */
+@Component
+@Slf4j
+public class LoginRateLimiter {
+
+    private static final long MINUTE_NANOS = 60_000_000_000L;
+
+    private final int ipPerMinute;
+    private final int userPerMinute;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    public LoginRateLimiter(
+            @Value("${teg.auth.rate-limit.ip-per-minute:60}") int ipPerMinute,
+            @Value("${teg.auth.rate-limit.user-per-minute:10}") int userPerMinute
+    ) {
+        this.ipPerMinute = ipPerMinute;
+        this.userPerMinute = userPerMinute;
+    }
+
+    public void acquire(String ip, String account) {
+        long now = System.nanoTime();
+        if (ip != null && !tryAcquire("ip:" + ip, ipPerMinute, now)) {
+            log.warn("Login rate limit exceeded for IP {}", ip);
+            throw new TooManyRequestsException("Too many login attempts, try again later");
+        }
+        if (account != null && !tryAcquire("user:" + account.toLowerCase(Locale.ROOT), userPerMinute, now)) {
+            log.warn("Login rate limit exceeded for account {}", account);
+            throw new TooManyRequestsException("Too many login attempts, try again later");
+        }
+    }
+
+    /**
+     * Drops the buckets that have refilled completely, so idle clients do not accumulate.
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void purgeIdleBuckets() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private boolean tryAcquire(String key, int perMinute, long now) {
+        if (perMinute <= 0) {
+            return true;
+        }
+        return buckets.computeIfAbsent(key, k -> new Bucket(perMinute, now)).tryAcquire(now);
+    }
+
+    private static final class Bucket {
+        private final int capacity;
+        private double tokens;
+        private long refilledAt;
+
+        Bucket(int capacity, long now) {
+            this.capacity = capacity;
+            this.tokens = capacity;
+            this.refilledAt = now;
+        }
+
+        synchronized boolean tryAcquire(long now) {
+            refill(now);
+            if (tokens < 1) {
+                return false;
+            }
+            tokens--;
+            return true;
+        }
+
+        synchronized boolean isFull(long now) {
+            refill(now);
+            return tokens >= capacity;
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(capacity, tokens + (double) (now - refilledAt) * capacity / MINUTE_NANOS);
+            refilledAt = now;
+        }
+    }
+}
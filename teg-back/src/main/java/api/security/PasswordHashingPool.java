@@ -0,0 +1,56 @@
+package api.security;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Dedicated, bounded pool for BCrypt work (login and registration), so a login storm queues here
+ * instead of tying up the servlet threads that serve gameplay. When the queue is full new work is
+ * rejected with a {@link org.springframework.core.task.TaskRejectedException}.
+ * <p>
+ * Deliberately not exposed as an {@link java.util.concurrent.Executor} bean, which would replace
+ * Spring Boot's default application task executor.
+ */
+@Component
+public class PasswordHashingPool implements DisposableBean {
+
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+    public PasswordHashingPool(
+            @Value("${teg.auth.hashing-threads:0}") int threads,
+            @Value("${teg.auth.hashing-queue-capacity:200}") int queueCapacity,
+            MeterRegistry meterRegistry
+    ) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hashing-");
+        executor.initialize();
+
+        Gauge.builder("teg.auth.hashing.queue.size", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .description("Logins and registrations waiting for a hashing thread")
+                .register(meterRegistry);
+        Gauge.builder("teg.auth.hashing.queue.remaining", executor,
+                        e -> e.getThreadPoolExecutor().getQueue().remainingCapacity())
+                .register(meterRegistry);
+        Gauge.builder("teg.auth.hashing.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .register(meterRegistry);
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,67 @@
+package api.security;
+
+import api.model.User;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Immutable, detached view of an authenticated {@link User}. This is what token-authenticated
+ * requests and STOMP sessions carry as their principal; it holds no password and no JPA state.
+ */
+@Getter
+public final class UserPrincipal implements UserDetails {
+
+    private static final List<GrantedAuthority> AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+
+    private final Long id;
+    private final String username;
+    private final String email;
+    private final boolean enabled;
+
+    public UserPrincipal(Long id, String username, String email, boolean enabled) {
+        this.id = id;
+        this.username = username;
+        this.email = email;
+        this.enabled = enabled;
+    }
+
+    public static UserPrincipal from(User user) {
+        return new UserPrincipal(user.getId(), user.getUsername(), user.getEmail(),
+                !Boolean.FALSE.equals(user.getIsActive()));
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return AUTHORITIES;
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "UserPrincipal(id=" + id + ", username=" + username + ")";
+    }
+}
@@ -0,0 +1,89 @@
+package api.security;
+
+import api.model.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caches the {@link UserPrincipal} of recently authenticated users by username, so token
+ * authentication does not hit the database on every request. Entries live for a fixed TTL, which
+ * is the only bound on how long a change to the account, such as disabling it, takes to apply to
+ * tokens already issued. A full cache frees a tenth of its entries at once,
+ * expired ones first, so it is scanned once per batch of inserts.
+ */
+@Component
+public class UserPrincipalCache {
+
+    private final UserDetailsService userDetailsService;
+    private final long ttlMillis;
+    private final int maxSize;
+    private final int lowWater;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    public UserPrincipalCache(
+            UserDetailsService userDetailsService,
+            @Value("${teg.security.principal-cache-ttl-ms:300000}") long ttlMillis,
+            @Value("${teg.security.principal-cache-size:10000}") int maxSize
+    ) {
+        this.userDetailsService = userDetailsService;
+        this.ttlMillis = ttlMillis;
+        this.maxSize = maxSize;
+        this.lowWater = maxSize - Math.max(1, maxSize / 10);
+    }
+
+    public UserPrincipal load(String username) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(username);
+        if (entry != null && entry.expiresAt > now) {
+            return entry.principal;
+        }
+        UserPrincipal principal = toPrincipal(userDetailsService.loadUserByUsername(username));
+        if (entries.size() >= maxSize) {
+            evictExpired(now);
+        }
+        entries.put(username, new Entry(principal, now + ttlMillis));
+        return principal;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void evictExpired(long now) {
+        // One caller scans at a time, and frees a tenth of the cache so the next scan is far off
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            entries.values().removeIf(entry -> entry.expiresAt <= now);
+            Iterator<String> keys = entries.keySet().iterator();
+            while (entries.size() > lowWater && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private static UserPrincipal toPrincipal(UserDetails userDetails) {
+        if (userDetails instanceof User user) {
+            return UserPrincipal.from(user);
+        }
+        if (userDetails instanceof UserPrincipal principal) {
+            return principal;
+        }
+        throw new IllegalStateException("Unsupported user details: " + userDetails.getClass().getName());
+    }
+
+    private record Entry(UserPrincipal principal, long expiresAt) {
+    }
+}
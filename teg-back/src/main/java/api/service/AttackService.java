@@ -0,0 +1,64 @@
+package api.service;
+
+import api.dto.AttackResultDTO;
+import api.dto.GameEvent;
+import api.engine.AttackResult;
+import api.engine.Battle;
+import api.engine.GameEngine;
+import api.engine.WorldMap;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+@Service
+@Timed(value = "teg.service.operations", extraTags = {"service", "attack"})
+@RequiredArgsConstructor
+@Slf4j
+public class AttackService {
+    private final GameEngine gameEngine;
+    private final WorldMap worldMap;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public AttackResultDTO attack(Long gameId, Long userId, String from, String to, boolean blitz, Integer stopAt) {
+        int fromOrdinal = worldMap.ordinal(from.toUpperCase());
+        int toOrdinal = worldMap.ordinal(to.toUpperCase());
+        int maxRolls = blitz ? Integer.MAX_VALUE : 1;
+        int floor = stopAt != null ? stopAt : 1;
+
+        AttackResultDTO result = gameEngine.execute(gameId, state -> {
+            int slot = state.requireCurrentPlayer(userId);
+            AttackResult outcome = new AttackResult();
+            Battle.resolve(state, slot, fromOrdinal, toOrdinal, maxRolls, floor, ThreadLocalRandom.current(), outcome);
+            if (outcome.isConquered() && state.isObjectiveAchieved(slot)) {
+                state.declareWinner(slot);
+            }
+            return AttackResultDTO.builder()
+                    .gameId(gameId)
+                    .attackerId(userId)
+                    .defenderId(state.getUserId(outcome.getDefenderSlot()))
+                    .from(worldMap.id(fromOrdinal))
+                    .to(worldMap.id(toOrdinal))
+                    .rolls(outcome.getRolls())
+                    .attackerLosses(outcome.getAttackerLosses())
+                    .defenderLosses(outcome.getDefenderLosses())
+                    .conquered(outcome.isConquered())
+                    .movedTroops(outcome.getMovedTroops())
+                    .attackerTroops(outcome.getAttackerTroops())
+                    .defenderTroops(outcome.getDefenderTroops())
+                    .defenderEliminated(!state.getTracker().isAlive(outcome.getDefenderSlot()))
+                    .winnerId(state.isFinished() ? state.getUserId(state.getWinner()) : null)
+                    .build();
+        });
+
+        log.debug("Attack {} -> {} in game {} resolved in {} rolls", result.getFrom(), result.getTo(), gameId, result.getRolls());
+        eventPublisher.publishEvent(new GameEvent.AttackResolved(gameId, result));
+        if (result.getWinnerId() != null) {
+            log.info("Game {} won by user {}", gameId, result.getWinnerId());
+        }
+        return result;
+    }
+}
@@ -6,6 +6,7 @@ import api.dto.UserRegistrationDTO;
 import api.model.User;
 import api.repository.UserRepository;
 import api.security.JwtService;
+import api.security.PasswordHashingPool;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -14,6 +15,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
@@ -24,6 +26,23 @@ public class AuthenticationService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final PasswordHashingPool passwordHashingPool;
+
+    /**
+     * Runs {@link #register} on the password hashing pool. Fails with a
+     * {@link org.springframework.core.task.TaskRejectedException} when the pool is saturated.
+     */
+    public CompletableFuture<AuthenticationResponse> registerAsync(UserRegistrationDTO request) {
+        return passwordHashingPool.submit(() -> register(request));
+    }
+
+    /**
+     * Runs {@link #authenticate} on the password hashing pool. Fails with a
+     * {@link org.springframework.core.task.TaskRejectedException} when the pool is saturated.
+     */
+    public CompletableFuture<AuthenticationResponse> authenticateAsync(LoginDTO request) {
+        return passwordHashingPool.submit(() -> authenticate(request));
+    }
 
     public AuthenticationResponse register(UserRegistrationDTO request) {
 
@@ -0,0 +1,21 @@
+package api.service;
+
+import api.engine.GameEngine;
+import api.engine.GameState;
+import api.repository.GameRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class GameMembershipService {
+    private final GameEngine gameEngine;
+    private final GameRepository gameRepository;
+
+    public boolean isPlayer(Long gameId, Long userId) {
+        if (gameEngine.isHosted(gameId)) {
+            return gameEngine.read(gameId, state -> state.slotOf(userId) != GameState.NO_OWNER);
+        }
+        return gameRepository.existsByIdAndPlayersUserId(gameId, userId);
+    }
+}
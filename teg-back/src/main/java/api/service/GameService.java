@@ -1,29 +1,53 @@
 package api.service;
 
+import api.actor.GameActors;
+import api.bot.BotRoster;
 import api.dto.GameDTO;
 import api.dto.GamePlayerDTO;
+import api.dto.LobbyEvent;
+import api.engine.BoardDealer;
+import api.engine.GameEngine;
+import api.engine.GameEventLog;
+import api.engine.GameState;
+import api.engine.GameStatePersister;
+import api.engine.WorldMap;
 import api.model.*;
 import api.repository.GameRepository;
 import api.repository.UserRepository;
 import api.util.GameDtoMapper;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.Ordered;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "teg.service.operations", extraTags = {"service", "game"})
 @RequiredArgsConstructor
 @Slf4j
 public class GameService {
-    private final SimpMessagingTemplate messagingTemplate;
     private final GameRepository gameRepository;
     private final UserService userService;
-    private final CountryService countryService;
     private final UserRepository userRepository;
+    private final GameEngine gameEngine;
+    private final GameStatePersister gameStatePersister;
+    private final GameEventLog gameEventLog;
+    private final WorldMap worldMap;
+    private final LobbyCache lobbyCache;
+    private final BotRoster botRoster;
+    private final ApplicationEventPublisher eventPublisher;
+    private final GameActors gameActors;
+    private final TransactionTemplate transactionTemplate;
 
     @Transactional
     public GameDTO createGame(String name, Integer maxPlayers, String username) {
@@ -52,46 +76,172 @@ public class GameService {
         
         // Update the GamePlayerId with the new game ID
         gamePlayer.getId().setGameId(game.getId());
+        eventPublisher.publishEvent(new LobbyChangedEvent(game.getId()));
 
         return GameDtoMapper.toGameDTO(game);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Served from the lobby snapshot, without a transaction: only a stale snapshot queries the
+     * database, through the repository's own read-only transaction.
+     */
     public List<GameDTO> getAvailableGames() {
-        return gameRepository.findByStatus(GameStatus.WAITING).stream()
-                .map(GameDtoMapper::toGameDTO)
-                .collect(Collectors.toList());
+        return lobbyCache.getGames();
     }
 
     @Transactional(readOnly = true)
     public Game getGameOrThrowException(Long id) {
-        return (gameRepository.findById(id)
+        return (gameRepository.findWithBoardById(id)
                 .orElseThrow(() -> new RuntimeException("Game not found")));
     }
 
-    @Transactional
     public Game joinGame(Long gameId, Long userId) {
-        Game game = gameRepository.findById(gameId)
-                .orElseThrow(() -> new RuntimeException("Game not found"));
+        return onGame(gameId, () -> {
+            Game game = gameRepository.findWithBoardById(gameId)
+                    .orElseThrow(() -> new RuntimeException("Game not found"));
+
+            if (game.getStatus() != GameStatus.WAITING) {
+                throw new RuntimeException("Game is not in waiting state");
+            }
+
+            if (game.getPlayers().size() >= game.getMaxPlayers()) {
+                throw new RuntimeException("Game is full");
+            }
 
-        if (game.getStatus() != GameStatus.WAITING) {
-            throw new RuntimeException("Game is not in waiting state");
-        }
+            User user = userService.findByIdOrThrowException(userId);
+
+            // Check if user is already in the game
+            boolean isAlreadyInGame = game.getPlayers().stream()
+                    .anyMatch(player -> player.getUser().getId().equals(user.getId()));
+
+            if (isAlreadyInGame) {
+                throw new RuntimeException("User is already in game");
+            }
+
+            GamePlayer gamePlayer = seat(game, user);
+            game = gameRepository.save(game);
+            eventPublisher.publishEvent(new LobbyChangedEvent(gameId));
+            eventPublisher.publishEvent(new LobbyEvent.UserJoined(
+                    gameId, GameDtoMapper.toUserDTO(user), GameDtoMapper.toGamePlayerDTO(gamePlayer)));
+
+            return game;
+        });
+    }
 
-        if (game.getPlayers().size() >= game.getMaxPlayers()) {
-            throw new RuntimeException("Game is full");
-        }
+    /**
+     * Fills up to {@code count} empty seats of a waiting game with bot players, all of them when
+     * {@code count} is {@code null}.
+     */
+    public Game addBots(Long gameId, Long creatorId, Integer count) {
+        return onGame(gameId, () -> {
+            Game game = gameRepository.findWithBoardById(gameId)
+                    .orElseThrow(() -> new RuntimeException("Game not found"));
+            if (!game.getCreatedBy().getId().equals(creatorId)) {
+                throw new RuntimeException("Only the creator can add bots");
+            }
+            if (game.getStatus() != GameStatus.WAITING) {
+                throw new RuntimeException("Game is not in waiting state");
+            }
+            int freeSeats = game.getMaxPlayers() - game.getPlayers().size();
+            if (freeSeats <= 0) {
+                throw new RuntimeException("Game is full");
+            }
+            int wanted = count == null ? freeSeats : Math.min(count, freeSeats);
+            if (wanted <= 0) {
+                throw new RuntimeException("Invalid amount of bots");
+            }
 
-        User user = userService.findByIdOrThrowException(userId);
+            Set<Long> seated = game.getPlayers().stream()
+                    .map(player -> player.getUser().getId())
+                    .collect(Collectors.toSet());
+            List<User> bots = botRoster.pick(wanted, seated);
+            if (bots.isEmpty()) {
+                throw new RuntimeException("No bots available");
+            }
+            List<GamePlayer> added = new ArrayList<>(bots.size());
+            for (User bot : bots) {
+                added.add(seat(game, bot));
+            }
+            game = gameRepository.save(game);
+            eventPublisher.publishEvent(new LobbyChangedEvent(gameId));
+            for (GamePlayer gamePlayer : added) {
+                eventPublisher.publishEvent(new LobbyEvent.UserJoined(
+                        gameId, GameDtoMapper.toUserDTO(gamePlayer.getUser()), GameDtoMapper.toGamePlayerDTO(gamePlayer)));
+            }
+            log.info("Added {} bots to game {}", added.size(), gameId);
+            return game;
+        });
+    }
 
-        // Check if user is already in the game
-        boolean isAlreadyInGame = game.getPlayers().stream()
-                .anyMatch(player -> player.getUser().getId().equals(user.getId()));
+    /**
+     * Cancels a game that is still waiting for players when its lobby timer runs out. Returns
+     * whether the game was cancelled.
+     */
+    public boolean expireLobby(Long gameId) {
+        return onGame(gameId, () -> {
+            Game game = gameRepository.findById(gameId).orElse(null);
+            if (game == null || game.getStatus() != GameStatus.WAITING) {
+                return false;
+            }
+            game.setStatus(GameStatus.CANCELLED);
+            game.getPlayers().clear();
+            gameRepository.save(game);
+            eventPublisher.publishEvent(new LobbyChangedEvent(gameId));
+            eventPublisher.publishEvent(new LobbyEvent.GameCancelled(
+                    gameId, "The game was cancelled because it was not started in time."));
+            log.info("Game {} expired in the lobby", gameId);
+            return true;
+        });
+    }
 
-        if (isAlreadyInGame) {
-            throw new RuntimeException("User is already in game");
-        }
+    /**
+     * Cancels a game in progress that every player has walked away from, and drops it from the
+     * engine. Returns whether the game was cancelled.
+     */
+    public boolean abandonGame(Long gameId) {
+        return onGame(gameId, () -> {
+            Game game = gameRepository.findById(gameId).orElse(null);
+            if (game == null || game.getStatus() != GameStatus.IN_PROGRESS) {
+                return false;
+            }
+            game.setStatus(GameStatus.CANCELLED);
+            gameRepository.save(game);
+            // Once the cancellation is committed, so the engine cannot reload the game as in progress
+            afterCommit(() -> gameEngine.evict(gameId));
+            eventPublisher.publishEvent(new LobbyEvent.GameCancelled(
+                    gameId, "The game was cancelled because every player left."));
+            log.info("Game {} abandoned by all its players", gameId);
+            return true;
+        });
+    }
 
+    /**
+     * Runs a command on the game's actor, in a transaction that commits before the game's next
+     * command starts.
+     */
+    private <T> T onGame(Long gameId, Supplier<T> command) {
+        return gameActors.ask(gameId, () -> transactionTemplate.execute(status -> command.get()));
+    }
+
+    /**
+     * Runs {@code action} once the current transaction commits, ahead of the after-commit event
+     * listeners.
+     */
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public int getOrder() {
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private GamePlayer seat(Game game, User user) {
         // Determine the next available color
         PlayerColor nextColor = getNextAvailableColor(game);
 
@@ -104,52 +254,43 @@ public class GameService {
                 .build();
 
         game.getPlayers().add(gamePlayer);
-        game = gameRepository.save(game);
-
-        messagingTemplate.convertAndSend(
-                "/topic/game-updates",
-                Map.of(
-                        "type", "USER_JOINED",
-                        "payload", Map.of(
-                                "gameId", game.getId(),
-                                "user", GameDtoMapper.toUserDTO(user))
-                )
-        );
-
-        return game;
+        return gamePlayer;
     }
 
-    @Transactional
+    /**
+     * Leaves a game that is still in the lobby; the creator leaving cancels it. Games in progress
+     * are hosted by the engine, and players who walk away from them are handled by the timers.
+     */
     public Game leaveGame(Long gameId, Long userId) {
-        try {
-            Game game = gameRepository.findById(gameId)
+        return onGame(gameId, () -> {
+            Game game = gameRepository.findWithBoardById(gameId)
                     .orElseThrow(() -> new RuntimeException("Game not found"));
-            boolean isCreator = game.getCreatedBy().getId().equals(userId);
-            if (isCreator) {
-                // Cancel the game: set status, remove all players
-                game.setStatus(GameStatus.CANCELLED);
-                game.getPlayers().clear();
-                game = gameRepository.save(game);
-                // Broadcast cancellation
-                messagingTemplate.convertAndSend(
-                    "/topic/game-updates",
-                    Map.of(
-                        "type", "GAME_CANCELLED",
-                        "payload", Map.of(
-                            "gameId", gameId,
-                            "message", "The game was cancelled because the creator left."
-                        )
-                    )
-                );
-                return game;
-            } else {
-                game.getPlayers().removeIf(gp -> gp.getUser().getId().equals(userId));
-                return gameRepository.save(game);
+            if (game.getStatus() != GameStatus.WAITING) {
+                throw new RuntimeException("Game is not in waiting state");
+            }
+            try {
+                boolean isCreator = game.getCreatedBy().getId().equals(userId);
+                if (isCreator) {
+                    // Cancel the game: set status, remove all players
+                    game.setStatus(GameStatus.CANCELLED);
+                    game.getPlayers().clear();
+                    game = gameRepository.save(game);
+                    eventPublisher.publishEvent(new LobbyChangedEvent(gameId));
+                    eventPublisher.publishEvent(new LobbyEvent.GameCancelled(
+                            gameId, "The game was cancelled because the creator left."));
+                    return game;
+                } else {
+                    game.getPlayers().removeIf(gp -> gp.getUser().getId().equals(userId));
+                    game = gameRepository.save(game);
+                    eventPublisher.publishEvent(new LobbyChangedEvent(gameId));
+                    eventPublisher.publishEvent(new LobbyEvent.UserLeft(gameId, userId));
+                    return game;
+                }
+            } catch (Exception e) {
+                log.error("User {} could not leave game {}. Exception was: {}.", userId, gameId, e.getMessage());
+                throw new RuntimeException("Error leaving game");
             }
-        } catch (Exception e) {
-            log.error("User {} could not leave game {}. Exception was: {}.", userId, gameId, e.getMessage());
-            throw new RuntimeException("Error leaving game");
-        }
+        });
     }
 
     private PlayerColor getNextAvailableColor(Game game) {
@@ -163,97 +304,61 @@ public class GameService {
                 .orElseThrow(() -> new RuntimeException("No available colors"));
     }
 
-    @Transactional
     public GamePlayerDTO updatePlayerColor(Long gameId, Long userId, String color) {
-        Game game = gameRepository.findById(gameId)
-                .orElseThrow(() -> new RuntimeException("Game not found"));
-        PlayerColor requestedColor = PlayerColor.valueOf(color.toUpperCase());
-        // Enforce uniqueness: check if any other player has this color
-        boolean colorTaken = game.getPlayers().stream()
-                .anyMatch(gp -> !gp.getUser().getId().equals(userId) && gp.getColor() == requestedColor);
-        if (colorTaken) {
-            throw new RuntimeException("Color already taken by another player");
-        }
-        GamePlayer gamePlayer = game.getPlayers().stream()
-                .filter(gp -> gp.getUser().getId().equals(userId))
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("Player not found in game"));
-        gamePlayer.setColor(requestedColor);
-        gameRepository.save(game);
-        return GameDtoMapper.toGamePlayerDTO(gamePlayer);
+        return onGame(gameId, () -> {
+            Game game = gameRepository.findWithBoardById(gameId)
+                    .orElseThrow(() -> new RuntimeException("Game not found"));
+            PlayerColor requestedColor = PlayerColor.valueOf(color.toUpperCase());
+            // Enforce uniqueness: check if any other player has this color
+            boolean colorTaken = game.getPlayers().stream()
+                    .anyMatch(gp -> !gp.getUser().getId().equals(userId) && gp.getColor() == requestedColor);
+            if (colorTaken) {
+                throw new RuntimeException("Color already taken by another player");
+            }
+            GamePlayer gamePlayer = game.getPlayers().stream()
+                    .filter(gp -> gp.getUser().getId().equals(userId))
+                    .findFirst()
+                    .orElseThrow(() -> new RuntimeException("Player not found in game"));
+            gamePlayer.setColor(requestedColor);
+            gameRepository.save(game);
+            eventPublisher.publishEvent(new LobbyChangedEvent(gameId));
+            eventPublisher.publishEvent(new LobbyEvent.PlayerColorChanged(gameId, userId, color));
+            return GameDtoMapper.toGamePlayerDTO(gamePlayer);
+        });
     }
 
-    @Transactional
     public Game startGame(Long gameId, Long creatorId) {
-        Game game = gameRepository.findById(gameId)
-                .orElseThrow(() -> new RuntimeException("Game not found"));
-        if (!game.getCreatedBy().getId().equals(creatorId)) {
-            throw new RuntimeException("Only the creator can start the game");
-        }
-        if (game.getStatus() != GameStatus.WAITING) {
-            throw new RuntimeException("Game already started or finished");
-        }
-
-        // Assign countries
-        List<Country> allCountries = countryService.getAllCountries();
-        Collections.shuffle(allCountries);
-        List<GamePlayer> players = new ArrayList<>(game.getPlayers());
-        int numPlayers = players.size();
-        for (int i = 0; i < allCountries.size(); i++) {
-            GamePlayer player = players.get(i % numPlayers);
-            Country country = allCountries.get(i);
-
-            PlayerCountryId pcId = new PlayerCountryId(
-                    player.getId().getGameId(),
-                    player.getId().getUserId(),
-                    country.getId()
-            );
-            PlayerCountry playerCountry = new PlayerCountry(pcId, player, country, 1);
-            player.getPlayerCountries().add(playerCountry);
-        }
-
-        // Assign objectives
-        List<Objective> allObjectives = new ArrayList<>(Arrays.asList(Objective.values()));
-        Collections.shuffle(allObjectives);
-        // Track which colors are in play
-        Set<PlayerColor> colorsInPlay = players.stream().map(GamePlayer::getColor).collect(Collectors.toSet());
-        for (GamePlayer player : players) {
-            Objective assigned = null;
-            Iterator<Objective> it = allObjectives.iterator();
-            while (it.hasNext()) {
-                Objective obj = it.next();
-                if (obj.name().startsWith("DESTROY_")) {
-                    // Only assign if that color is in play and not the player's own color
-                    String colorStr = obj.name().replace("DESTROY_", "");
-                    PlayerColor color = PlayerColor.valueOf(colorStr);
-                    if (colorsInPlay.contains(color) && player.getColor() != color) {
-                        assigned = obj;
-                        it.remove();
-                        break;
-                    }
-                } else {
-                    assigned = obj;
-                    it.remove();
-                    break;
-                }
+        return onGame(gameId, () -> {
+            Game game = gameRepository.findWithBoardById(gameId)
+                    .orElseThrow(() -> new RuntimeException("Game not found"));
+            if (!game.getCreatedBy().getId().equals(creatorId)) {
+                throw new RuntimeException("Only the creator can start the game");
             }
-            // If no valid destroy objective, fallback to CONQUER_30_COUNTRIES
-            if (assigned == null) {
-                assigned = Objective.CONQUER_30_COUNTRIES;
+            if (game.getStatus() != GameStatus.WAITING) {
+                throw new RuntimeException("Game already started or finished");
             }
-            player.setObjective(assigned);
-        }
-        // 3. Set game status
-        game.setStatus(GameStatus.IN_PROGRESS);
-        gameRepository.save(game);
-
-        messagingTemplate.convertAndSend(
-            "/topic/game-updates",
-            Map.of(
-                "type", "GAME_STARTED",
-                "payload", GameDtoMapper.toGameDTO(game)
-            )
-        );
-        return game;
+
+            GameState state = BoardDealer.deal(game.getId(), game.getPlayers(), worldMap, ThreadLocalRandom.current());
+
+            // The board and objectives bypass the entities and go out in a single statement
+            gameStatePersister.insertBoard(state);
+            gameEventLog.saveSnapshot(state);
+
+            // Set game status and hand the board over to the engine
+            game.setStatus(GameStatus.IN_PROGRESS);
+            game.setCurrentTurn(state.getCurrentSlot());
+            game.setRound(state.getRound());
+            game.setPhase(state.getPhase());
+            game.setPendingTroops(state.getPendingTroops());
+            gameRepository.save(game);
+            // Host the game only once it is IN_PROGRESS in the database, and before the
+            // after-commit listeners of GameStarted look it up in the engine
+            afterCommit(() -> gameEngine.register(state));
+            eventPublisher.publishEvent(new LobbyChangedEvent(gameId));
+
+            eventPublisher.publishEvent(new LobbyEvent.GameStarted(
+                    gameId, GameDtoMapper.withLiveBoard(GameDtoMapper.toGameDTO(game), state, worldMap)));
+            return game;
+        });
     }
 } 
\ No newline at end of file
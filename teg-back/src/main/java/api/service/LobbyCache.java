@@ -0,0 +1,77 @@
+package api.service;
+
+import api.dto.GameDTO;
+import api.dto.GamesListEvent;
+import api.model.GameStatus;
+import api.repository.GameRepository;
+import api.util.GameDtoMapper;
+import api.websocket.Destinations;
+import api.websocket.ServerEventSender;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory snapshot of the lobby list. Lobby changes only mark the snapshot stale once their
+ * transaction commits; the next read rebuilds it with a single query and every other read is
+ * served from memory. Changes are also coalesced into at most one {@code GAMES_LIST} message on
+ * the lobby topic per broadcast interval, however many happened in between.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LobbyCache {
+
+    private final GameRepository gameRepository;
+    private final ServerEventSender eventSender;
+    private final AtomicBoolean stale = new AtomicBoolean(true);
+    private final AtomicBoolean broadcastPending = new AtomicBoolean();
+    // A lock rather than synchronized, so a virtual thread waiting on the query does not pin its carrier
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile List<GameDTO> games = List.of();
+
+    public List<GameDTO> getGames() {
+        if (stale.get()) {
+            refresh();
+        }
+        return games;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLobbyChanged(LobbyChangedEvent event) {
+        stale.set(true);
+        broadcastPending.set(true);
+    }
+
+    @Scheduled(fixedDelayString = "${teg.lobby.broadcast-interval-ms:250}")
+    public void broadcast() {
+        if (!broadcastPending.getAndSet(false)) {
+            return;
+        }
+        List<GameDTO> snapshot = getGames();
+        log.debug("Broadcasting lobby snapshot with {} games", snapshot.size());
+        eventSender.send(Destinations.LOBBY, new GamesListEvent(snapshot));
+    }
+
+    private void refresh() {
+        refreshLock.lock();
+        try {
+            // Cleared before querying so a change committed meanwhile marks the snapshot stale again
+            if (stale.getAndSet(false)) {
+                games = List.copyOf(GameDtoMapper.toLobbyGameDTOs(
+                        gameRepository.findLobbyRowsByStatus(GameStatus.WAITING)));
+            }
+        } catch (RuntimeException e) {
+            stale.set(true);
+            throw e;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package api.service;
+
+/**
+ * Published whenever a WAITING game is created, joined, left, recoloured, cancelled or started.
+ */
+public record LobbyChangedEvent(Long gameId) {
+}
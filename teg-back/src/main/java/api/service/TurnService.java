@@ -0,0 +1,90 @@
+package api.service;
+
+import api.dto.GameEventsDTO;
+import api.dto.TurnDTO;
+import api.engine.GameDelta;
+import api.engine.GameEngine;
+import api.engine.GameState;
+import api.engine.GameWriteBehind;
+import api.engine.WorldMap;
+import api.util.GameDtoMapper;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@Timed(value = "teg.service.operations", extraTags = {"service", "turn"})
+@RequiredArgsConstructor
+@Slf4j
+public class TurnService {
+    private final GameEngine gameEngine;
+    private final WorldMap worldMap;
+    private final GameWriteBehind gameWriteBehind;
+
+    public TurnDTO getTurn(Long gameId) {
+        return gameEngine.read(gameId, TurnService::toTurnDTO);
+    }
+
+    /**
+     * Returns the events a client missed after {@code since}. When they are no longer retained the
+     * response is flagged for resync and the client must reload the game.
+     */
+    public GameEventsDTO getEventsSince(Long gameId, long since) {
+        List<GameDelta> deltas = gameEngine.eventsSince(gameId, since);
+        if (deltas == null) {
+            log.debug("Game {} cannot replay events since {}, client must resync", gameId, since);
+            return GameEventsDTO.builder()
+                    .gameId(gameId)
+                    .latestSeq(gameEngine.read(gameId, GameState::getSequence))
+                    .resync(true)
+                    .events(List.of())
+                    .build();
+        }
+        return GameEventsDTO.builder()
+                .gameId(gameId)
+                .latestSeq(since + deltas.size())
+                .events(GameDtoMapper.toGameEventDTOs(deltas, worldMap))
+                .build();
+    }
+
+    public TurnDTO placeTroops(Long gameId, Long userId, String country, int troops) {
+        int ordinal = worldMap.ordinal(country.toUpperCase());
+        return gameEngine.execute(gameId, state -> {
+            int slot = state.requireCurrentPlayer(userId);
+            state.placeTroops(slot, ordinal, troops);
+            return toTurnDTO(state);
+        });
+    }
+
+    public TurnDTO fortify(Long gameId, Long userId, String from, String to, int troops) {
+        int fromOrdinal = worldMap.ordinal(from.toUpperCase());
+        int toOrdinal = worldMap.ordinal(to.toUpperCase());
+        return gameEngine.execute(gameId, state -> {
+            state.fortify(state.requireCurrentPlayer(userId), fromOrdinal, toOrdinal, troops);
+            return toTurnDTO(state);
+        });
+    }
+
+    public TurnDTO endTurn(Long gameId, Long userId) {
+        TurnDTO turn = gameEngine.execute(gameId, state -> {
+            state.endTurn(state.requireCurrentPlayer(userId));
+            return toTurnDTO(state);
+        });
+        // Acknowledged turn ends are durable, only the turn in progress can be lost in a crash
+        gameWriteBehind.awaitTurnEnd();
+        return turn;
+    }
+
+    private static TurnDTO toTurnDTO(GameState state) {
+        return TurnDTO.builder()
+                .gameId(state.getGameId())
+                .round(state.getRound())
+                .currentPlayerId(state.getCurrentUserId())
+                .phase(state.getPhase().name())
+                .pendingTroops(state.getPendingTroops())
+                .build();
+    }
+}
@@ -0,0 +1,359 @@
+package api.timer;
+
+import api.dto.LobbyEvent;
+import api.engine.GameDelta;
+import api.engine.GameDeltasEvent;
+import api.engine.GameEngine;
+import api.engine.GameState;
+import api.exception.ServiceUnavailableException;
+import api.model.GameStatus;
+import api.repository.GameRepository;
+import api.service.GameService;
+import api.service.LobbyChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deadlines of games: turn timeouts, which skip the turn of a player who took too long, and lobby
+ * expiry, which cancels games nobody started. Players whose turns keep being skipped are
+ * considered away and get a much shorter timeout until they play again; once every player left
+ * in a game is away, the game is abandoned.
+ * <p>
+ * Every deadline lives in one {@link TimingWheel} ticked by a single thread, so arming and
+ * cancelling a deadline costs O(1) however many games are open. Expired deadlines run on a small
+ * pool, and a turn is skipped through {@link GameEngine#execute} like any player action, so it
+ * cannot race with one: it only applies if the same turn is still being played.
+ */
+@Component
+@Slf4j
+public class GameTimers implements DisposableBean {
+
+    // Marks a turn deadline armed after a restart, which skips whatever turn is then in progress
+    private static final long ANY_TURN = -1;
+
+    private final GameEngine gameEngine;
+    private final GameService gameService;
+    private final GameRepository gameRepository;
+    private final TimingWheel<Runnable> wheel;
+    private final long tickNanos;
+    private final long turnTimeoutTicks;
+    private final long afkTurnTimeoutTicks;
+    private final int afkAfterSkips;
+    private final long lobbyTtlTicks;
+    private final long retryTicks;
+    private final ScheduledExecutorService ticker;
+    private final ThreadPoolTaskExecutor firingExecutor = new ThreadPoolTaskExecutor();
+    private final long start = System.nanoTime();
+    private final Map<Long, TurnClock> turnClocks = new ConcurrentHashMap<>();
+    private final Map<Long, TimingWheel.Timeout<Runnable>> lobbyTimeouts = new ConcurrentHashMap<>();
+    private final Counter skippedTurns;
+    private final Counter afkTurns;
+    private final Counter expiredLobbies;
+    private final Counter abandonedGames;
+
+    /**
+     * Turn deadline of one game, only touched while the engine holds that game.
+     */
+    private static final class TurnClock {
+        TimingWheel.Timeout<Runnable> timeout;
+        long userId = ANY_TURN;
+        boolean skipping;
+        // Turns skipped in a row, by user id
+        final Map<Long, Integer> skips = new HashMap<>();
+    }
+
+    public GameTimers(
+            GameEngine gameEngine,
+            GameService gameService,
+            GameRepository gameRepository,
+            @Value("${teg.timers.tick-ms:100}") long tickMs,
+            @Value("${teg.timers.wheel-size:512}") int wheelSize,
+            @Value("${teg.timers.turn-timeout-ms:120000}") long turnTimeoutMs,
+            @Value("${teg.timers.afk-turn-timeout-ms:15000}") long afkTurnTimeoutMs,
+            @Value("${teg.timers.afk-after-skips:2}") int afkAfterSkips,
+            @Value("${teg.timers.lobby-ttl-ms:1800000}") long lobbyTtlMs,
+            @Value("${teg.timers.retry-ms:1000}") long retryMs,
+            @Value("${teg.timers.firing-threads:2}") int firingThreads,
+            MeterRegistry meterRegistry
+    ) {
+        this.gameEngine = gameEngine;
+        this.gameService = gameService;
+        this.gameRepository = gameRepository;
+        this.wheel = new TimingWheel<>(wheelSize);
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMs);
+        this.turnTimeoutTicks = ticks(turnTimeoutMs, tickMs);
+        this.afkTurnTimeoutTicks = ticks(afkTurnTimeoutMs, tickMs);
+        this.afkAfterSkips = afkAfterSkips;
+        this.lobbyTtlTicks = ticks(lobbyTtlMs, tickMs);
+        this.retryTicks = Math.max(1, ticks(retryMs, tickMs));
+
+        firingExecutor.setCorePoolSize(firingThreads);
+        firingExecutor.setMaxPoolSize(firingThreads);
+        firingExecutor.setThreadNamePrefix("game-timer-");
+        firingExecutor.initialize();
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-timer-wheel");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+
+        Gauge.builder("teg.timers.pending", wheel, TimingWheel::size)
+                .description("Turn and lobby deadlines waiting in the timing wheel")
+                .register(meterRegistry);
+        skippedTurns = Counter.builder("teg.timers.fired").tag("type", "turn").register(meterRegistry);
+        afkTurns = Counter.builder("teg.timers.fired").tag("type", "afk").register(meterRegistry);
+        expiredLobbies = Counter.builder("teg.timers.fired").tag("type", "lobby").register(meterRegistry);
+        abandonedGames = Counter.builder("teg.timers.fired").tag("type", "abandoned").register(meterRegistry);
+    }
+
+    /**
+     * Arms deadlines for the games open before a restart: each gets a full timeout from now.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void armOpenGames() {
+        List<Long> waiting = gameRepository.findIdsByStatus(GameStatus.WAITING);
+        waiting.forEach(this::armLobby);
+        if (turnTimeoutTicks > 0) {
+            for (Long gameId : gameRepository.findIdsByStatus(GameStatus.IN_PROGRESS)) {
+                turnClocks.computeIfAbsent(gameId, id -> new TurnClock()).timeout =
+                        wheel.schedule(() -> expireTurn(gameId, ANY_TURN), turnTimeoutTicks);
+            }
+        }
+        log.debug("Armed timers for {} waiting and {} running games", waiting.size(), turnClocks.size());
+    }
+
+    // Turns
+
+    @EventListener
+    public void onGameDeltas(GameDeltasEvent event) {
+        // Runs on the game's action thread with the game locked, as does every use of its clock
+        if (!event.turnEnded() || turnTimeoutTicks <= 0) {
+            return;
+        }
+        Long gameId = event.gameId();
+        GameDelta turn = null;
+        for (GameDelta delta : event.deltas()) {
+            if (delta.type() == GameDelta.Type.GAME_FINISHED) {
+                TurnClock clock = turnClocks.remove(gameId);
+                if (clock != null) {
+                    wheel.cancel(clock.timeout);
+                }
+                return;
+            }
+            if (delta.type() == GameDelta.Type.TURN_CHANGED) {
+                turn = delta;
+            }
+        }
+        if (turn == null) {
+            return;
+        }
+
+        armTurn(gameId, turn.playerId());
+    }
+
+    /**
+     * Replaces the game's turn deadline with one for {@code userId}'s turn. Must be called while
+     * the engine holds the game.
+     */
+    private void armTurn(Long gameId, long userId) {
+        TurnClock clock = turnClocks.computeIfAbsent(gameId, id -> new TurnClock());
+        wheel.cancel(clock.timeout);
+        if (clock.userId != ANY_TURN) {
+            if (clock.skipping) {
+                clock.skips.merge(clock.userId, 1, Integer::sum);
+            } else {
+                clock.skips.remove(clock.userId);
+            }
+        }
+        clock.skipping = false;
+        clock.userId = userId;
+        boolean away = clock.skips.getOrDefault(userId, 0) >= afkAfterSkips;
+        clock.timeout = wheel.schedule(() -> expireTurn(gameId, userId), away ? afkTurnTimeoutTicks : turnTimeoutTicks);
+    }
+
+    private void expireTurn(Long gameId, long userId) {
+        try {
+            TurnExpiry expiry = gameEngine.execute(gameId, state -> {
+                TurnClock clock = turnClocks.get(gameId);
+                if (clock == null || state.isFinished() || (userId != ANY_TURN && state.getCurrentUserId() != userId)) {
+                    // The turn ended since the deadline was armed
+                    return TurnExpiry.STALE;
+                }
+                clock.userId = state.getCurrentUserId();
+                if (isEveryoneAway(state, clock)) {
+                    return TurnExpiry.ABANDONED;
+                }
+                clock.skipping = true;
+                boolean away = clock.skips.getOrDefault(clock.userId, 0) >= afkAfterSkips;
+                (away ? afkTurns : skippedTurns).increment();
+                log.debug("Turn of user {} in game {} timed out", clock.userId, gameId);
+                state.skipTurn();
+                return TurnExpiry.SKIPPED;
+            });
+            if (expiry == TurnExpiry.ABANDONED) {
+                turnClocks.remove(gameId);
+                abandon(gameId);
+            }
+        } catch (ServiceUnavailableException e) {
+            // Back-pressure: the turn is still running, try again shortly
+            log.debug("Turn deadline of game {} retried: {}", gameId, e.getMessage());
+            retryTurn(gameId, userId);
+        } catch (RuntimeException e) {
+            if (gameEngine.isHosted(gameId)) {
+                log.warn("Turn deadline of game {} retried: {}", gameId, e.getMessage());
+                retryTurn(gameId, userId);
+            } else {
+                // The game is no longer in progress
+                log.debug("Turn deadline of game {} dropped: {}", gameId, e.getMessage());
+                turnClocks.remove(gameId);
+            }
+        }
+    }
+
+    /**
+     * Re-arms a deadline that could not be applied, unless the turn it was waiting on has ended
+     * since.
+     */
+    private void retryTurn(Long gameId, long userId) {
+        try {
+            gameEngine.read(gameId, state -> {
+                TurnClock clock = turnClocks.get(gameId);
+                if (clock != null && clock.userId == userId) {
+                    wheel.cancel(clock.timeout);
+                    clock.timeout = wheel.schedule(() -> expireTurn(gameId, userId), retryTicks);
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            log.debug("Turn deadline of game {} dropped: {}", gameId, e.getMessage());
+            turnClocks.remove(gameId);
+        }
+    }
+
+    private void abandon(Long gameId) {
+        if (turnClocks.containsKey(gameId)) {
+            // Somebody played again while the abandonment was waiting
+            return;
+        }
+        try {
+            if (gameService.abandonGame(gameId)) {
+                abandonedGames.increment();
+            }
+        } catch (ServiceUnavailableException e) {
+            log.debug("Abandoning game {} retried: {}", gameId, e.getMessage());
+            wheel.schedule(() -> abandon(gameId), retryTicks);
+        } catch (RuntimeException e) {
+            log.warn("Game {} could not be abandoned: {}", gameId, e.getMessage());
+        }
+    }
+
+    private enum TurnExpiry {
+        STALE,
+        SKIPPED,
+        ABANDONED
+    }
+
+    /**
+     * Whether every player still in the game is away, counting the turn about to be skipped.
+     */
+    private boolean isEveryoneAway(GameState state, TurnClock clock) {
+        for (int slot = 0; slot < state.getPlayerCount(); slot++) {
+            if (!state.getTracker().isAlive(slot)) {
+                continue;
+            }
+            long player = state.getUserId(slot);
+            int skips = clock.skips.getOrDefault(player, 0) + (player == clock.userId ? 1 : 0);
+            if (skips < afkAfterSkips) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Lobby
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLobbyChanged(LobbyChangedEvent event) {
+        armLobby(event.gameId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameStarted(LobbyEvent.GameStarted event) {
+        Long gameId = event.gameId();
+        wheel.cancel(lobbyTimeouts.remove(gameId));
+        if (turnTimeoutTicks > 0) {
+            // Starting a game publishes no deltas, so the first turn is armed here
+            gameEngine.read(gameId, state -> {
+                armTurn(gameId, state.getCurrentUserId());
+                return null;
+            });
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameCancelled(LobbyEvent.GameCancelled event) {
+        wheel.cancel(lobbyTimeouts.remove(event.gameId()));
+    }
+
+    private void armLobby(Long gameId) {
+        if (lobbyTtlTicks <= 0) {
+            return;
+        }
+        // Any lobby activity pushes the deadline back
+        lobbyTimeouts.compute(gameId, (id, previous) -> {
+            wheel.cancel(previous);
+            return wheel.schedule(() -> expireLobby(id), lobbyTtlTicks);
+        });
+    }
+
+    private void expireLobby(Long gameId) {
+        lobbyTimeouts.remove(gameId);
+        try {
+            if (gameService.expireLobby(gameId)) {
+                expiredLobbies.increment();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Game {} could not be expired: {}", gameId, e.getMessage());
+        }
+    }
+
+    // Wheel
+
+    private void tick() {
+        try {
+            long target = (System.nanoTime() - start) / tickNanos;
+            wheel.advance(target - wheel.getTick(), firingExecutor::execute);
+        } catch (RuntimeException e) {
+            // An exception would cancel the periodic task and stop every timer
+            log.error("Timing wheel tick failed", e);
+        }
+    }
+
+    private static long ticks(long millis, long tickMs) {
+        return millis <= 0 ? 0 : Math.max(1, (millis + tickMs - 1) / tickMs);
+    }
+
+    @Override
+    public void destroy() {
+        ticker.shutdownNow();
+        firingExecutor.shutdown();
+    }
+}
@@ -0,0 +1,150 @@
+package api.timer;
+
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel: a ring of buckets, one per tick, each holding a doubly linked list of
+ * timeouts. A timeout due in more ticks than the ring has buckets stays in its bucket for as many
+ * extra revolutions. Scheduling and cancelling are O(1) whatever the number of pending timeouts;
+ * a tick only visits the timeouts of one bucket.
+ * <p>
+ * The wheel keeps no clock of its own: {@link #advance} is called with the number of ticks
+ * elapsed. All methods are synchronized, expired tasks are handed out and never run under the
+ * lock.
+ */
+public final class TimingWheel<T> {
+
+    private final Timeout<T>[] buckets;
+    private final int mask;
+    private long tick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(int wheelSize) {
+        if (wheelSize <= 0) {
+            throw new IllegalArgumentException("Wheel size must be positive");
+        }
+        int buckets = Integer.highestOneBit(wheelSize - 1) << 1;
+        this.buckets = new Timeout[Math.max(1, buckets)];
+        this.mask = this.buckets.length - 1;
+    }
+
+    /**
+     * A scheduled task. Only the wheel it was scheduled on may cancel it.
+     */
+    public static final class Timeout<T> {
+        private final T task;
+        private final long deadline;
+        private long rounds;
+        private int bucket = -1;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(T task, long deadline, long rounds) {
+            this.task = task;
+            this.deadline = deadline;
+            this.rounds = rounds;
+        }
+
+        public T getTask() {
+            return task;
+        }
+
+        public long getDeadline() {
+            return deadline;
+        }
+    }
+
+    /**
+     * Schedules {@code task} to expire {@code ticks} ticks from now, at least one.
+     */
+    public synchronized Timeout<T> schedule(T task, long ticks) {
+        long delay = Math.max(1, ticks);
+        long deadline = tick + delay;
+        Timeout<T> timeout = new Timeout<>(task, deadline, (delay - 1) / buckets.length);
+        link(timeout, (int) (deadline & mask));
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Returns {@code false} if the timeout already expired or was cancelled.
+     */
+    public synchronized boolean cancel(Timeout<T> timeout) {
+        if (timeout == null || timeout.bucket < 0) {
+            return false;
+        }
+        unlink(timeout);
+        size--;
+        return true;
+    }
+
+    /**
+     * Moves the wheel {@code ticks} ticks forward and passes every task that expired on the way
+     * to {@code expired}, outside of the wheel's lock.
+     */
+    public void advance(long ticks, Consumer<T> expired) {
+        for (long i = 0; i < ticks; i++) {
+            Timeout<T> due = expireNextTick();
+            for (Timeout<T> timeout = due; timeout != null; timeout = timeout.next) {
+                expired.accept(timeout.task);
+            }
+        }
+    }
+
+    /**
+     * Detaches the timeouts of the next bucket that are due, as a list chained through
+     * {@code next}.
+     */
+    private synchronized Timeout<T> expireNextTick() {
+        tick++;
+        int index = (int) (tick & mask);
+        Timeout<T> due = null;
+        Timeout<T> timeout = buckets[index];
+        while (timeout != null) {
+            Timeout<T> next = timeout.next;
+            if (timeout.rounds > 0) {
+                timeout.rounds--;
+            } else {
+                unlink(timeout);
+                size--;
+                timeout.next = due;
+                due = timeout;
+            }
+            timeout = next;
+        }
+        return due;
+    }
+
+    public synchronized long getTick() {
+        return tick;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private void link(Timeout<T> timeout, int index) {
+        Timeout<T> head = buckets[index];
+        timeout.bucket = index;
+        timeout.next = head;
+        if (head != null) {
+            head.prev = timeout;
+        }
+        buckets[index] = timeout;
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            buckets[timeout.bucket] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.bucket = -1;
+        timeout.prev = null;
+        timeout.next = null;
+    }
+}
@@ -4,12 +4,21 @@ import api.dto.GameDTO;
 import api.dto.GamePlayerDTO;
 import api.dto.UserDTO;
 import api.dto.CountryTroopDTO;
+import api.dto.GameEventDTO;
+import api.dto.LobbyGameRow;
+import api.engine.GameDelta;
+import api.engine.GameState;
+import api.engine.WorldMap;
 import api.model.Country;
 import api.model.Game;
+import api.model.Objective;
 import api.model.GamePlayer;
 import api.model.User;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 public class GameDtoMapper {
@@ -36,6 +45,7 @@ public class GameDtoMapper {
                 .collect(Collectors.toList())
             : List.of()
         );
+        dto.setBot(Boolean.TRUE.equals(gp.getUser().getIsBot()));
         return dto;
     }
 
@@ -51,7 +61,74 @@ public class GameDtoMapper {
             game.getStatus() != null ? game.getStatus().toString() : null,
             game.getCreatedAt(),
             toUserDTO(game.getCreatedBy()),
-            playerDTOs
+            playerDTOs,
+            null
         );
     }
-} 
\ No newline at end of file
+
+    /**
+     * Groups the rows of the lobby list query back into games, keeping the query order.
+     */
+    public static List<GameDTO> toLobbyGameDTOs(List<LobbyGameRow> rows) {
+        Map<Long, GameDTO> games = new LinkedHashMap<>();
+        for (LobbyGameRow row : rows) {
+            GameDTO game = games.computeIfAbsent(row.gameId(), id -> new GameDTO(
+                id,
+                row.name(),
+                row.maxPlayers(),
+                row.status() != null ? row.status().toString() : null,
+                row.createdAt(),
+                new UserDTO(row.creatorId(), row.creatorUsername(), row.creatorEmail()),
+                new ArrayList<>(),
+                null
+            ));
+            if (row.playerId() != null) {
+                game.getPlayers().add(new GamePlayerDTO(
+                    row.playerId(),
+                    new UserDTO(row.playerId(), row.playerUsername(), row.playerEmail()),
+                    row.color() != null ? row.color().name() : null,
+                    row.turnOrder(),
+                    row.joinedAt(),
+                    null,
+                    List.of(),
+                    Boolean.TRUE.equals(row.playerBot())
+                ));
+            }
+        }
+        return new ArrayList<>(games.values());
+    }
+
+    public static GameDTO withLiveBoard(GameDTO dto, GameState state, WorldMap worldMap) {
+        for (GamePlayerDTO player : dto.getPlayers()) {
+            int slot = state.slotOf(player.getId());
+            Objective objective = state.getObjective(slot);
+            player.setObjective(objective != null ? objective.name() : null);
+            List<CountryTroopDTO> countries = new ArrayList<>();
+            for (int country = 0; country < state.getCountryCount(); country++) {
+                if (state.getOwner(country) == slot) {
+                    countries.add(new CountryTroopDTO(worldMap.id(country), state.getTroops(country)));
+                }
+            }
+            player.setCountries(countries);
+        }
+        dto.setSequence(state.getSequence());
+        return dto;
+    }
+
+    public static List<GameEventDTO> toGameEventDTOs(List<GameDelta> deltas, WorldMap worldMap) {
+        List<GameEventDTO> events = new ArrayList<>(deltas.size());
+        for (GameDelta delta : deltas) {
+            events.add(GameEventDTO.builder()
+                .seq(delta.seq())
+                .type(delta.type().name())
+                .country(delta.country() != GameDelta.NONE ? worldMap.id(delta.country()) : null)
+                .playerId(delta.playerId() != GameDelta.NONE ? delta.playerId() : null)
+                .troops(delta.troops() != GameDelta.NONE ? delta.troops() : null)
+                .round(delta.round() != GameDelta.NONE ? delta.round() : null)
+                .phase(delta.phase() != null ? delta.phase().name() : null)
+                .pendingTroops(delta.pendingTroops() != GameDelta.NONE ? delta.pendingTroops() : null)
+                .build());
+        }
+        return events;
+    }
+}
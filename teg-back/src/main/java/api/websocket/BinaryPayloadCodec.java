@@ -0,0 +1,150 @@
+package api.websocket;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * CBOR payloads for STOMP sessions that ask for them. A client sends {@code payload-format: cbor}
+ * in its CONNECT frame; from then on the JSON messages it receives are re-encoded as CBOR and sent
+ * as binary frames with {@code content-type: application/octet-stream} and
+ * {@code payload-format: cbor}. Sessions that do not ask keep receiving JSON.
+ * <p>
+ * Broadcasts are serialized once to JSON and the same payload array is delivered to every
+ * subscriber, so each one is transcoded at most once no matter how many binary sessions receive
+ * it. Clients may also send {@code application/cbor} payloads to {@code /app} destinations.
+ */
+@Component
+@Slf4j
+public class BinaryPayloadCodec {
+
+    public static final String FORMAT_HEADER = "payload-format";
+    public static final String CBOR = "cbor";
+    public static final MimeType APPLICATION_CBOR = new MimeType("application", "cbor");
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final CBORFactory cborFactory = new CBORFactory();
+    private final Set<String> binarySessions = ConcurrentHashMap.newKeySet();
+    // Keyed by array identity; entries go away with the broadcast they belong to
+    private final Map<byte[], byte[]> transcoded = Collections.synchronizedMap(new WeakHashMap<>());
+    private final MappingJackson2MessageConverter converter;
+
+    public BinaryPayloadCodec(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        this.converter = new MappingJackson2MessageConverter(APPLICATION_CBOR);
+        this.converter.setObjectMapper(objectMapperBuilder.factory(new CBORFactory()).build());
+        // Only for payloads declared as CBOR, never for outgoing messages without a content type
+        this.converter.setStrictContentTypeMatch(true);
+    }
+
+    /**
+     * Reads {@code application/cbor} payloads of messages sent by clients.
+     */
+    public MessageConverter messageConverter() {
+        return converter;
+    }
+
+    public ChannelInterceptor inboundInterceptor() {
+        return new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
+                StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+                if (accessor != null && StompCommand.CONNECT.equals(accessor.getCommand())
+                        && CBOR.equalsIgnoreCase(accessor.getFirstNativeHeader(FORMAT_HEADER))) {
+                    binarySessions.add(accessor.getSessionId());
+                }
+                return message;
+            }
+        };
+    }
+
+    public ChannelInterceptor outboundInterceptor() {
+        return new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
+                return encode(message);
+            }
+        };
+    }
+
+    public boolean isBinary(String sessionId) {
+        return sessionId != null && binarySessions.contains(sessionId);
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        binarySessions.remove(event.getSessionId());
+    }
+
+    Message<?> encode(Message<?> message) {
+        if (binarySessions.isEmpty()
+                || SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE
+                || !isBinary(SimpMessageHeaderAccessor.getSessionId(message.getHeaders()))
+                || !(message.getPayload() instanceof byte[] json)) {
+            return message;
+        }
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        MimeType contentType = accessor.getContentType();
+        if (contentType == null || !MimeTypeUtils.APPLICATION_JSON.isCompatibleWith(contentType)) {
+            return message;
+        }
+        accessor.setContentType(MimeTypeUtils.APPLICATION_OCTET_STREAM);
+        accessor.setNativeHeader(FORMAT_HEADER, CBOR);
+        return MessageBuilder.createMessage(transcode(json), accessor.getMessageHeaders());
+    }
+
+    /**
+     * Returns the CBOR form of a broadcast payload. The map lock is only held to look up and store,
+     * so outbound threads never wait on each other's transcoding; racing threads may both encode
+     * the payload, and all of them then use the copy stored first.
+     */
+    private byte[] transcode(byte[] json) {
+        byte[] cbor = transcoded.get(json);
+        if (cbor != null) {
+            return cbor;
+        }
+        cbor = toCbor(json);
+        byte[] previous = transcoded.putIfAbsent(json, cbor);
+        return previous != null ? previous : cbor;
+    }
+
+    byte[] toCbor(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length);
+        try (JsonParser parser = jsonFactory.createParser(json);
+             JsonGenerator generator = cborFactory.createGenerator(out)) {
+            parser.nextToken();
+            generator.copyCurrentStructure(parser);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot encode payload as CBOR", e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,69 @@
+package api.websocket;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * STOMP destinations used by the backend. Game and lobby events are published to a topic per
+ * game, so each message only reaches the players of that game; only lobby list changes go to the
+ * shared lobby topic.
+ */
+public final class Destinations {
+
+    public static final String LOBBY = "/topic/lobby";
+    public static final String ACTIVE_USERS = "/topic/active-users";
+
+    private static final String LOBBY_PREFIX = LOBBY + "/";
+    private static final String GAME_PREFIX = "/topic/game/";
+    private static final Pattern GAME_TOPIC = Pattern.compile("/topic/(?:lobby|game)/(\\d{1,18})");
+    // The user's own queues, resolved to the session by the user destination handler
+    private static final Pattern USER_QUEUE = Pattern.compile("/user/queue/[a-z]+(?:-[a-z]+)*");
+    private static final Pattern ID_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+    private static final Pattern USER_SESSION_SUFFIX = Pattern.compile("-user[^/]+$");
+
+    private Destinations() {
+    }
+
+    public static String lobby(Long gameId) {
+        return LOBBY_PREFIX + gameId;
+    }
+
+    public static String game(Long gameId) {
+        return GAME_PREFIX + gameId;
+    }
+
+    /**
+     * Returns the destination with game ids replaced by {@code {id}} and the session suffix of
+     * user destinations removed, so it can be used as a metric tag without one series per game.
+     */
+    public static String metricsTag(String destination) {
+        if (destination == null) {
+            return "none";
+        }
+        String tag = ID_SEGMENT.matcher(destination).replaceAll("/{id}");
+        return USER_SESSION_SUFFIX.matcher(tag).replaceAll("");
+    }
+
+    /**
+     * Whether any authenticated user may subscribe to the destination: the shared topics and the
+     * user's own queues.
+     */
+    public static boolean isPublic(String destination) {
+        return LOBBY.equals(destination)
+                || ACTIVE_USERS.equals(destination)
+                || (destination != null && USER_QUEUE.matcher(destination).matches());
+    }
+
+    /**
+     * Returns the game id of a per-lobby or per-game destination, or {@code null} for any other
+     * destination. Only exact destinations match, never broker patterns such as
+     * {@code /topic/game/*}.
+     */
+    public static Long gameIdOf(String destination) {
+        if (destination == null) {
+            return null;
+        }
+        Matcher matcher = GAME_TOPIC.matcher(destination);
+        return matcher.matches() ? Long.valueOf(matcher.group(1)) : null;
+    }
+}
@@ -0,0 +1,39 @@
+package api.websocket;
+
+import api.dto.GameEvent;
+import api.dto.GameEventsDTO;
+import api.engine.GameDelta;
+import api.engine.GameDeltasEvent;
+import api.engine.WorldMap;
+import api.util.GameDtoMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Forwards the deltas produced by the game engine to the game's topic. Runs on the thread that
+ * executed the action while the game is still locked, so messages leave in sequence order.
+ */
+@Component
+@RequiredArgsConstructor
+public class GameEventBroadcaster {
+
+    private final ServerEventSender eventSender;
+    private final WorldMap worldMap;
+
+    @EventListener
+    public void handleGameDeltas(GameDeltasEvent event) {
+        List<GameDelta> deltas = event.deltas();
+        if (deltas.isEmpty()) {
+            return;
+        }
+        GameEventsDTO payload = GameEventsDTO.builder()
+                .gameId(event.gameId())
+                .latestSeq(deltas.get(deltas.size() - 1).seq())
+                .events(GameDtoMapper.toGameEventDTOs(deltas, worldMap))
+                .build();
+        eventSender.send(Destinations.game(event.gameId()), new GameEvent.Deltas(event.gameId(), payload));
+    }
+}
@@ -0,0 +1,66 @@
+package api.websocket;
+
+import api.dto.GameEvent;
+import api.dto.LobbyEvent;
+import api.dto.ServerEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * Sends {@link ServerEvent}s to STOMP destinations. Each event is serialized to JSON exactly once
+ * into a ready-made message, which the broker hands to every subscriber as is, instead of being
+ * converted again from a map of maps on every send. Lobby and game events published by the
+ * services are sent once their transaction commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class ServerEventSender {
+
+    private static final String USER_PREFIX = "/user/";
+
+    private final SimpMessageSendingOperations messagingTemplate;
+    private final ObjectMapper objectMapper;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLobbyEvent(LobbyEvent event) {
+        send(Destinations.lobby(event.gameId()), event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameEvent(GameEvent event) {
+        send(Destinations.game(event.gameId()), event);
+    }
+
+    public void send(String destination, ServerEvent event) {
+        messagingTemplate.send(destination, toMessage(event));
+    }
+
+    public void sendToUser(String user, String destination, ServerEvent event) {
+        messagingTemplate.send(USER_PREFIX + user.replace("/", "%2F") + destination, toMessage(event));
+    }
+
+    Message<byte[]> toMessage(ServerEvent event) {
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(new Envelope(event.type(), event.payload()));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize " + event.type() + " event", e);
+        }
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(payload, accessor.getMessageHeaders());
+    }
+
+    private record Envelope(String type, Object payload) {
+    }
+}
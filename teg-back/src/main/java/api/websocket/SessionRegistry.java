@@ -0,0 +1,108 @@
+package api.websocket;
+
+import org.springframework.messaging.simp.user.MultiServerUserRegistry;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Open STOMP sessions of this node grouped by user, so a user with several tabs counts once.
+ * Users are spread over independent shards and the totals are kept in {@link LongAdder}s, so
+ * connects and disconnects never contend on a shared counter and counting is O(1).
+ * <p>
+ * When the broker relay shares the user registry between nodes, {@link #getClusterUserCount()}
+ * also includes the users reported by the other nodes; a user connected to two nodes counts on
+ * each.
+ */
+@Component
+public class SessionRegistry {
+
+    private static final int SHARDS = 16;
+
+    private final SimpUserRegistry userRegistry;
+    private final ConcurrentHashMap<String, Set<String>>[] shards;
+    private final LongAdder users = new LongAdder();
+    private final LongAdder sessions = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public SessionRegistry(SimpUserRegistry userRegistry) {
+        this.userRegistry = userRegistry;
+        this.shards = new ConcurrentHashMap[SHARDS];
+        for (int i = 0; i < SHARDS; i++) {
+            shards[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    /**
+     * Adds a session of {@code user}. Returns {@code false} if it was already registered.
+     */
+    public boolean register(String user, String sessionId) {
+        boolean[] added = new boolean[1];
+        shard(user).compute(user, (name, userSessions) -> {
+            if (userSessions == null) {
+                userSessions = new HashSet<>(2);
+                users.increment();
+            }
+            added[0] = userSessions.add(sessionId);
+            return userSessions;
+        });
+        if (added[0]) {
+            sessions.increment();
+        }
+        return added[0];
+    }
+
+    /**
+     * Removes a session of {@code user}. Returns {@code false} if it was not registered, which
+     * happens when the same disconnect is reported twice.
+     */
+    public boolean unregister(String user, String sessionId) {
+        boolean[] removed = new boolean[1];
+        shard(user).computeIfPresent(user, (name, userSessions) -> {
+            removed[0] = userSessions.remove(sessionId);
+            if (userSessions.isEmpty()) {
+                users.decrement();
+                return null;
+            }
+            return userSessions;
+        });
+        if (removed[0]) {
+            sessions.decrement();
+        }
+        return removed[0];
+    }
+
+    public boolean isConnected(String user) {
+        return shard(user).containsKey(user);
+    }
+
+    public int getSessionCount(String user) {
+        Set<String> userSessions = shard(user).get(user);
+        return userSessions != null ? userSessions.size() : 0;
+    }
+
+    public long getLocalUserCount() {
+        return users.sum();
+    }
+
+    public long getLocalSessionCount() {
+        return sessions.sum();
+    }
+
+    public long getClusterUserCount() {
+        if (userRegistry instanceof MultiServerUserRegistry) {
+            // Local users plus the latest snapshot broadcast by every other node
+            return userRegistry.getUserCount();
+        }
+        return getLocalUserCount();
+    }
+
+    private ConcurrentHashMap<String, Set<String>> shard(String user) {
+        int hash = user.hashCode();
+        return shards[(hash ^ (hash >>> 16)) & (SHARDS - 1)];
+    }
+}
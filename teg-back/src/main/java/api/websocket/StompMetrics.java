@@ -0,0 +1,61 @@
+package api.websocket;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.NonNull;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Size and rate of STOMP messages per destination, as the {@code teg.stomp.messages} summary
+ * tagged with the direction and the destination with its ids replaced by {@code {id}}. Outbound
+ * messages are measured as sent, after any binary re-encoding.
+ */
+@Component
+public class StompMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, DistributionSummary> inbound = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> outbound = new ConcurrentHashMap<>();
+
+    public StompMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public ChannelInterceptor inboundInterceptor() {
+        return interceptor(inbound, "inbound");
+    }
+
+    public ChannelInterceptor outboundInterceptor() {
+        return interceptor(outbound, "outbound");
+    }
+
+    private ChannelInterceptor interceptor(Map<String, DistributionSummary> summaries, String direction) {
+        return new ChannelInterceptor() {
+            @Override
+            public void afterSendCompletion(@NonNull Message<?> message, @NonNull MessageChannel channel,
+                                            boolean sent, Exception ex) {
+                if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+                    return;
+                }
+                String destination = Destinations.metricsTag(
+                        SimpMessageHeaderAccessor.getDestination(message.getHeaders()));
+                int size = message.getPayload() instanceof byte[] bytes ? bytes.length : 0;
+                summaries.computeIfAbsent(destination, tag -> DistributionSummary.builder("teg.stomp.messages")
+                                .description("STOMP messages and their payload size")
+                                .baseUnit("bytes")
+                                .tag("direction", direction)
+                                .tag("destination", tag)
+                                .register(meterRegistry))
+                        .record(size);
+            }
+        };
+    }
+}
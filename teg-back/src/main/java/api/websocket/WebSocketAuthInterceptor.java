@@ -1,6 +1,9 @@
 package api.websocket;
 
 import api.security.JwtService;
+import api.security.UserPrincipal;
+import api.security.UserPrincipalCache;
+import api.service.GameMembershipService;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -10,11 +13,11 @@ import org.springframework.messaging.simp.stomp.StompCommand;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.messaging.support.ChannelInterceptor;
 import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Component;
 
+import java.security.Principal;
 import java.util.Objects;
 
 @Component
@@ -23,7 +26,8 @@ import java.util.Objects;
 public class WebSocketAuthInterceptor implements ChannelInterceptor {
 
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final UserPrincipalCache userPrincipalCache;
+    private final GameMembershipService gameMembershipService;
 
     @Override
     public Message<?> preSend(@NonNull Message<?> message,@NonNull MessageChannel channel) {
@@ -36,9 +40,9 @@ public class WebSocketAuthInterceptor implements ChannelInterceptor {
             if (token != null) {
                 try {
                     String username = jwtService.extractUsername(token);
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                    UserPrincipal userDetails = userPrincipalCache.load(username);
 
-                    if (jwtService.isTokenValid(token, userDetails)) {
+                    if (userDetails.isEnabled() && jwtService.isTokenValid(token, userDetails)) {
                         UsernamePasswordAuthenticationToken authentication = 
                             new UsernamePasswordAuthenticationToken(
                                 userDetails,
@@ -58,9 +62,42 @@ public class WebSocketAuthInterceptor implements ChannelInterceptor {
             }
         }
 
+        if (accessor != null && StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+            authorizeSubscription(accessor.getDestination(), accessor.getUser());
+        }
+
         return message;
     }
 
+    /**
+     * Only known destination shapes are allowed. Anything else is denied, in particular broker
+     * patterns such as {@code /topic/**}, which the simple broker would match against every game
+     * topic.
+     */
+    private void authorizeSubscription(String destination, Principal principal) {
+        if (Destinations.isPublic(destination)) {
+            return;
+        }
+        Long gameId = Destinations.gameIdOf(destination);
+        if (gameId == null) {
+            log.warn("Rejected subscription to {} for {}", destination, principal != null ? principal.getName() : "anonymous");
+            throw new AccessDeniedException("Cannot subscribe to " + destination);
+        }
+        Long userId = extractUserId(principal);
+        if (userId == null || !gameMembershipService.isPlayer(gameId, userId)) {
+            log.warn("Rejected subscription to {} for {}", destination, principal != null ? principal.getName() : "anonymous");
+            throw new AccessDeniedException("Not a player of game " + gameId);
+        }
+    }
+
+    private Long extractUserId(Principal principal) {
+        if (principal instanceof UsernamePasswordAuthenticationToken authentication
+                && authentication.getPrincipal() instanceof UserPrincipal user) {
+            return user.getId();
+        }
+        return null;
+    }
+
     private String extractToken(StompHeaderAccessor accessor) {
         String token = null;
         if (accessor.getNativeHeader("Authorization") != null) {
@@ -3,6 +3,7 @@ package api.websocket;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.SimpMessageSendingOperations;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.messaging.SessionConnectEvent;
@@ -20,13 +21,13 @@ public class WebSocketEventListener {
     @EventListener
     public void handleWebSocketConnectListener(SessionConnectedEvent event) {
         log.debug("WebSocket SessionConnectedEvent received: {}", event);
-        webSocketHandler.handleConnect(event.getMessage().getHeaders());
+        webSocketHandler.handleConnect(SimpMessageHeaderAccessor.getSessionId(event.getMessage().getHeaders()), event.getUser());
     }
 
     @EventListener
     public void handleWebSocketDisconnectListener(SessionDisconnectEvent event) {
         log.debug("WebSocket SessionDisconnectEvent received: {}", event);
-        webSocketHandler.handleDisconnect(event.getMessage().getHeaders());
+        webSocketHandler.handleDisconnect(event.getSessionId(), event.getUser());
     }
 
     @EventListener
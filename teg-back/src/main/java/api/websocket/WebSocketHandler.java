@@ -1,21 +1,20 @@
 package api.websocket;
 
+import api.dto.ErrorEvent;
 import api.dto.GameDTO;
+import api.dto.GamesListEvent;
 import api.service.GameService;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.messaging.Message;
-import org.springframework.messaging.MessageHeaders;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.SendTo;
-import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 
+import java.security.Principal;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Controller
 @Slf4j
@@ -23,67 +22,48 @@ public class WebSocketHandler {
 
     private final SimpMessagingTemplate messagingTemplate;
     private final GameService gameService;
-    private final AtomicInteger activeUsers = new AtomicInteger(0);
-    private final ConcurrentHashMap<String, String> sessionUsers = new ConcurrentHashMap<>();
+    private final SessionRegistry sessionRegistry;
+    private final ServerEventSender eventSender;
+    private final AtomicLong lastBroadcastCount = new AtomicLong(-1);
 
-    public WebSocketHandler(SimpMessagingTemplate messagingTemplate, GameService gameService) {
+    public WebSocketHandler(SimpMessagingTemplate messagingTemplate, GameService gameService,
+                            SessionRegistry sessionRegistry, ServerEventSender eventSender) {
         this.messagingTemplate = messagingTemplate;
         this.gameService = gameService;
+        this.sessionRegistry = sessionRegistry;
+        this.eventSender = eventSender;
     }
 
-    public void handleConnect(MessageHeaders headers) {
-        log.debug("Handling connect with headers: {}", headers);
-        String sessionId = extractSessionId(headers);
-        log.debug("Session ID from headers: {}", sessionId);
-        
-        if (sessionId != null && !sessionUsers.containsKey(sessionId)) {
-            sessionUsers.put(sessionId, sessionId);
-            int count = activeUsers.incrementAndGet();
-            log.info("User connected with session {}. Active users: {}, Current sessions: {}", 
-                    sessionId, count, sessionUsers.keySet());
-            
-            // First send to the specific user
+    public void handleConnect(String sessionId, Principal user) {
+        if (sessionId == null) {
+            log.warn("Connection without a session ID");
+            return;
+        }
+        if (sessionRegistry.register(userKey(sessionId, user), sessionId)) {
+            log.debug("Session {} connected. Active users: {}", sessionId, sessionRegistry.getLocalUserCount());
             sendActiveUsersCount(sessionId);
-            // Then broadcast to all
-            broadcastActiveUsersCount();
         } else {
-            log.warn("Connection attempt with invalid session ID or duplicate session. SessionId: {}, Existing sessions: {}", 
-                    sessionId, sessionUsers.keySet());
+            log.warn("Duplicate connection for session {}", sessionId);
         }
     }
 
-    public void handleDisconnect(MessageHeaders headers) {
-        log.debug("Handling disconnect with headers: {}", headers);
-        String sessionId = extractSessionId(headers);
-        log.debug("Session ID from headers: {}", sessionId);
-        
-        if (sessionId != null && sessionUsers.remove(sessionId) != null) {
-            int count = activeUsers.decrementAndGet();
-            log.info("User disconnected with session {}. Active users: {}, Remaining sessions: {}", 
-                    sessionId, count, sessionUsers.keySet());
-            broadcastActiveUsersCount();
+    public void handleDisconnect(String sessionId, Principal user) {
+        if (sessionId != null && sessionRegistry.unregister(userKey(sessionId, user), sessionId)) {
+            log.debug("Session {} disconnected. Active users: {}", sessionId, sessionRegistry.getLocalUserCount());
         } else {
-            log.warn("Disconnect attempt with invalid session ID. SessionId: {}, Existing sessions: {}", 
-                    sessionId, sessionUsers.keySet());
+            log.debug("Ignoring disconnect of unknown session {}", sessionId);
         }
     }
 
-    private String extractSessionId(MessageHeaders headers) {
-        String sessionId = (String) headers.get("simpSessionId");
-        if (sessionId == null) {
-            // Try to get it from the accessor if present
-            SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap((Message<?>) headers);
-            sessionId = accessor.getSessionId();
-        }
-        return sessionId;
+    // Anonymous sessions count as a user of their own
+    private static String userKey(String sessionId, Principal user) {
+        return user != null ? user.getName() : sessionId;
     }
 
     @MessageMapping("/get-active-users")
-    @SendTo("/topic/active-users")
+    @SendTo(Destinations.ACTIVE_USERS)
     public ActiveUsersMessage getActiveUsers() {
-        int count = activeUsers.get();
-        log.debug("Received request for active users count. Current count: {}", count);
-        return new ActiveUsersMessage(count);
+        return new ActiveUsersMessage(sessionRegistry.getClusterUserCount());
     }
 
     @MessageMapping("/get-games")
@@ -91,46 +71,42 @@ public class WebSocketHandler {
         log.info("Getting available games for user: {}", authentication.getName());
         try {
             List<GameDTO> games = gameService.getAvailableGames();
-            messagingTemplate.convertAndSendToUser(
-                authentication.getName(),
-                "/queue/games",
-                Map.of("type", "GAMES_LIST", "payload", Map.of("games", games))
-            );
+            eventSender.sendToUser(authentication.getName(), "/queue/games", new GamesListEvent(games));
         } catch (Exception e) {
             log.error("Error getting games", e);
-            messagingTemplate.convertAndSendToUser(
-                authentication.getName(),
-                "/queue/errors",
-                Map.of("type", "ERROR", "payload", Map.of("message", e.getMessage()))
-            );
+            eventSender.sendToUser(authentication.getName(), "/queue/errors", new ErrorEvent(e.getMessage()));
         }
     }
 
-    private void broadcastActiveUsersCount() {
-        int count = activeUsers.get();
-        log.info("Broadcasting active users count: {}", count);
+    /**
+     * Broadcasts the active user count once per tick, and only when it changed, however many
+     * sessions connected or disconnected in between.
+     */
+    @Scheduled(fixedDelayString = "${teg.websocket.active-users-interval-ms:1000}")
+    public void broadcastActiveUsersCount() {
+        long count = sessionRegistry.getClusterUserCount();
+        if (lastBroadcastCount.getAndSet(count) == count) {
+            return;
+        }
+        log.debug("Broadcasting active users count: {}", count);
         try {
-            messagingTemplate.convertAndSend("/topic/active-users", new ActiveUsersMessage(count));
-            log.debug("Successfully broadcast active users count");
+            messagingTemplate.convertAndSend(Destinations.ACTIVE_USERS, new ActiveUsersMessage(count));
         } catch (Exception e) {
             log.error("Error broadcasting active users count", e);
         }
     }
 
     private void sendActiveUsersCount(String sessionId) {
-        int count = activeUsers.get();
-        log.info("Sending active users count to session {}: {}", sessionId, count);
         try {
             messagingTemplate.convertAndSendToUser(
                 sessionId,
                 "/queue/active-users",
-                new ActiveUsersMessage(count)
+                new ActiveUsersMessage(sessionRegistry.getClusterUserCount())
             );
-            log.debug("Successfully sent active users count to session {}", sessionId);
         } catch (Exception e) {
             log.error("Error sending active users count to session {}", sessionId, e);
         }
     }
 
-    private record ActiveUsersMessage(int count) {}
+    private record ActiveUsersMessage(long count) {}
 } 
\ No newline at end of file
@@ -0,0 +1,5 @@
+ALTER TABLE games
+    ADD COLUMN IF NOT EXISTS current_turn INTEGER,
+    ADD COLUMN IF NOT EXISTS round INTEGER,
+    ADD COLUMN IF NOT EXISTS phase VARCHAR(20),
+    ADD COLUMN IF NOT EXISTS pending_troops INTEGER;
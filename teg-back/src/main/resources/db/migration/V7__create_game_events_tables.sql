@@ -0,0 +1,23 @@
+CREATE TABLE IF NOT EXISTS game_events (
+    game_id BIGINT NOT NULL,
+    seq BIGINT NOT NULL,
+    type VARCHAR(20) NOT NULL,
+    country_id VARCHAR(50),
+    player_id BIGINT,
+    troops INTEGER,
+    round INTEGER,
+    phase VARCHAR(20),
+    pending_troops INTEGER,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (game_id, seq),
+    CONSTRAINT fk_game_events_game FOREIGN KEY (game_id) REFERENCES games(id)
+);
+
+CREATE TABLE IF NOT EXISTS game_snapshots (
+    game_id BIGINT NOT NULL,
+    seq BIGINT NOT NULL,
+    state BYTEA NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (game_id, seq),
+    CONSTRAINT fk_game_snapshots_game FOREIGN KEY (game_id) REFERENCES games(id)
+);
@@ -0,0 +1,166 @@
+package api.actor;
+
+import api.exception.ServiceUnavailableException;
+import api.metrics.QueryCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameActorsTest {
+
+    private final QueryCounter queryCounter = new QueryCounter();
+    private final GameActors gameActors = new GameActors(4, 5_000, queryCounter, new SimpleMeterRegistry());
+    private final ExecutorService callers = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        gameActors.destroy();
+    }
+
+    @Test
+    @DisplayName("Commands of one game never overlap, whatever the number of callers")
+    void shouldSerializeCommandsOfAGame() {
+        // A check-then-act on plain fields, like the free seat check of a join
+        int[] seats = {0};
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+        List<CompletableFuture<Boolean>> joins = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            joins.add(CompletableFuture.supplyAsync(() -> gameActors.ask(1L, () -> {
+                if (running.incrementAndGet() > 1) {
+                    overlaps.incrementAndGet();
+                }
+                try {
+                    if (seats[0] >= 6) {
+                        return false;
+                    }
+                    Thread.yield();
+                    seats[0]++;
+                    return true;
+                } finally {
+                    running.decrementAndGet();
+                }
+            }), callers));
+        }
+
+        long joined = joins.stream().map(CompletableFuture::join).filter(Boolean::booleanValue).count();
+
+        assertEquals(6, joined);
+        assertEquals(6, seats[0]);
+        assertEquals(0, overlaps.get());
+    }
+
+    @Test
+    @DisplayName("Different games run in parallel")
+    void shouldRunGamesInParallel() throws Exception {
+        CountDownLatch otherGameRan = new CountDownLatch(1);
+        CompletableFuture<Boolean> blocked = CompletableFuture.supplyAsync(() -> gameActors.ask(1L, () -> {
+            try {
+                return otherGameRan.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        }), callers);
+
+        gameActors.ask(2L, () -> {
+            otherGameRan.countDown();
+            return null;
+        });
+
+        assertTrue(blocked.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Exceptions of a command reach the caller unchanged")
+    void shouldRethrowCommandExceptions() {
+        RuntimeException error = assertThrows(RuntimeException.class, () -> gameActors.ask(1L, () -> {
+            throw new RuntimeException("Game is full");
+        }));
+
+        assertEquals("Game is full", error.getMessage());
+        assertEquals(42, gameActors.ask(1L, () -> 42));
+    }
+
+    @Test
+    @DisplayName("A command may send another command to its own game")
+    void shouldRunNestedCommandsInline() {
+        int result = gameActors.ask(1L, () -> gameActors.ask(1L, () -> 7) + 1);
+
+        assertEquals(8, result);
+    }
+
+    @Test
+    @DisplayName("A command slower than the ask timeout still reports its own outcome")
+    void shouldWaitForRunningCommandPastTimeout() {
+        GameActors impatient = new GameActors(2, 100, new QueryCounter(), new SimpleMeterRegistry());
+        AtomicInteger runs = new AtomicInteger();
+        try {
+            String result = impatient.ask(1L, () -> {
+                sleep(400);
+                runs.incrementAndGet();
+                return "joined";
+            });
+
+            assertEquals("joined", result);
+            assertEquals(1, runs.get());
+        } finally {
+            impatient.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("A command still queued when the ask times out is cancelled and never runs")
+    void shouldCancelQueuedCommandOnTimeout() throws Exception {
+        GameActors impatient = new GameActors(2, 100, new QueryCounter(), new SimpleMeterRegistry());
+        AtomicInteger runs = new AtomicInteger();
+        try {
+            CompletableFuture<Object> slow = CompletableFuture.supplyAsync(() -> impatient.ask(1L, () -> {
+                sleep(400);
+                return null;
+            }), callers);
+            sleep(50);
+
+            assertThrows(ServiceUnavailableException.class, () -> impatient.ask(1L, runs::incrementAndGet));
+
+            slow.get(5, TimeUnit.SECONDS);
+            assertEquals(0, impatient.ask(1L, runs::get));
+        } finally {
+            impatient.destroy();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Test
+    @DisplayName("Statements a command runs on the actor are counted for the caller")
+    void shouldCreditQueriesToCaller() {
+        queryCounter.reset();
+
+        gameActors.ask(1L, () -> queryCounter.inspect("select 1") + queryCounter.inspect("select 2"));
+        assertThrows(IllegalStateException.class, () -> gameActors.ask(1L, () -> {
+            queryCounter.inspect("select 3");
+            throw new IllegalStateException("Game is full");
+        }));
+
+        assertEquals(3, queryCounter.current());
+    }
+}
@@ -0,0 +1,114 @@
+package api.bot;
+
+import api.engine.GameState;
+import api.engine.WorldMap;
+import api.model.Objective;
+import api.model.PlayerColor;
+import api.model.TurnPhase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonteCarloSearchTest {
+
+    private static final WorldMap MAP = WorldMap.loadDefault();
+    private static final int ARGENTINA = MAP.ordinal("ARGENTINA");
+
+    private final ForkJoinPool pool = new ForkJoinPool(2);
+    private GameState state;
+
+    @BeforeEach
+    void setUp() {
+        // The bot holds 29 countries, one conquest short of the common objective
+        state = new GameState(1L, 2, MAP);
+        state.setPlayer(0, 100L, PlayerColor.RED, Objective.CONQUER_30_COUNTRIES);
+        state.setPlayer(1, 200L, PlayerColor.BLUE, Objective.CONQUER_24_COUNTRIES);
+        int owned = 0;
+        for (int country = 0; country < MAP.size(); country++) {
+            boolean bot = country == ARGENTINA || (owned < 28 && !MAP.borders(ARGENTINA, country));
+            if (bot && country != ARGENTINA) {
+                owned++;
+            }
+            state.setCountry(country, bot ? 0 : 1, 1);
+        }
+        state.setCountry(ARGENTINA, 0, 40);
+        state.setTurn(0, 1, TurnPhase.ATTACK, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("The search takes the attack that wins the game over passing")
+    void shouldPickWinningAttack() {
+        MonteCarloSearch search = new MonteCarloSearch(pool, 2, 100, 0);
+        List<BotMove> candidates = BotPolicy.attacks(state, 10);
+
+        MonteCarloSearch.Decision decision = search.choose(state, candidates);
+
+        assertEquals(BotMove.Type.ATTACK, decision.move().type());
+        assertEquals(ARGENTINA, decision.move().from());
+        assertTrue(decision.playouts() > 0);
+    }
+
+    @Test
+    @DisplayName("A decision stays within its time budget and leaves the board untouched")
+    void shouldRespectBudget() {
+        MonteCarloSearch search = new MonteCarloSearch(pool, 2, 50, 6);
+        GameState before = state.copy();
+
+        long start = System.nanoTime();
+        MonteCarloSearch.Decision decision = search.choose(state, BotPolicy.attacks(state, 10));
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(elapsedMs < 50 + 200, "took " + elapsedMs + " ms");
+        assertTrue(decision.playouts() > 0);
+        assertEquals(before.getVersion(), state.getVersion());
+        assertEquals(40, state.getTroops(ARGENTINA));
+    }
+
+    @Test
+    @DisplayName("Every candidate move is legal on the board")
+    void shouldOnlyGenerateLegalMoves() {
+        SplittableRandom random = new SplittableRandom(3);
+        for (BotMove move : BotPolicy.attacks(state, 10)) {
+            move.apply(state.copy(), random);
+        }
+        for (BotMove move : BotPolicy.fortifications(state, 10)) {
+            move.apply(state.copy(), random);
+        }
+
+        state.setTurn(0, 1, TurnPhase.REINFORCE, 5);
+        List<BotMove> reinforcements = BotPolicy.reinforcements(state, 10);
+        assertFalse(reinforcements.isEmpty());
+        for (BotMove move : reinforcements) {
+            GameState copy = state.copy();
+            move.apply(copy, random);
+            assertEquals(0, copy.getPendingTroops());
+        }
+    }
+
+    @Test
+    @DisplayName("Boards are scored 1 when won and 0 when lost")
+    void shouldScoreFinishedGames() {
+        GameState won = state.copy();
+        won.declareWinner(0);
+        GameState lost = state.copy();
+        lost.declareWinner(1);
+
+        assertEquals(1.0, BotPolicy.evaluate(won, 0));
+        assertEquals(0.0, BotPolicy.evaluate(lost, 0));
+        double open = BotPolicy.evaluate(state, 0);
+        assertTrue(open > 0 && open < 1);
+    }
+}
@@ -0,0 +1,68 @@
+package api.controller;
+
+import api.dto.TurnDTO;
+import api.engine.GameEngine;
+import api.engine.WorldMap;
+import api.security.UserPrincipal;
+import api.service.AttackService;
+import api.service.GameMembershipService;
+import api.service.GameService;
+import api.service.TurnService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class GameControllerTest {
+
+    private TurnService turnService;
+    private GameMembershipService gameMembershipService;
+    private GameController controller;
+    private Authentication alice;
+
+    @BeforeEach
+    void setUp() {
+        turnService = mock(TurnService.class);
+        gameMembershipService = mock(GameMembershipService.class);
+        controller = new GameController(mock(GameService.class), turnService, mock(AttackService.class),
+                gameMembershipService, mock(GameEngine.class), mock(WorldMap.class));
+        UserPrincipal principal = new UserPrincipal(1L, "alice", "alice@teg.com", true);
+        alice = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+
+    @Test
+    @DisplayName("Moves are made as the authenticated user")
+    void shouldActAsAuthenticatedUser() {
+        TurnDTO turn = new TurnDTO();
+        when(turnService.endTurn(7L, 1L)).thenReturn(turn);
+
+        assertSame(turn, controller.endTurn(7L, 1L, alice).getBody());
+    }
+
+    @Test
+    @DisplayName("Moves on behalf of another player are rejected")
+    void shouldRejectAnotherUsersId() {
+        assertThrows(AccessDeniedException.class, () -> controller.endTurn(7L, 2L, alice));
+        assertThrows(AccessDeniedException.class, () -> controller.endTurn(7L, 1L, null));
+        verifyNoInteractions(turnService);
+    }
+
+    @Test
+    @DisplayName("Only players of a game can read its turn and events")
+    void shouldRestrictLiveStateToPlayers() {
+        TurnDTO turn = new TurnDTO();
+        when(turnService.getTurn(7L)).thenReturn(turn);
+        when(gameMembershipService.isPlayer(7L, 1L)).thenReturn(true);
+
+        assertSame(turn, controller.getTurn(7L, alice).getBody());
+        assertThrows(AccessDeniedException.class, () -> controller.getTurn(8L, alice));
+        assertThrows(AccessDeniedException.class, () -> controller.getEvents(8L, 0, alice));
+        assertThrows(AccessDeniedException.class, () -> controller.getEvents(7L, 0, null));
+        verify(turnService, never()).getEventsSince(anyLong(), anyLong());
+    }
+}
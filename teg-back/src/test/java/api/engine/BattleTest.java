@@ -0,0 +1,118 @@
+package api.engine;
+
+import api.model.Objective;
+import api.model.PlayerColor;
+import api.model.TurnPhase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BattleTest {
+
+    private static final WorldMap MAP = WorldMap.loadDefault();
+    private static final int ARGENTINA = MAP.ordinal("ARGENTINA");
+    private static final int CHILE = MAP.ordinal("CHILE");
+
+    private GameState state;
+
+    @BeforeEach
+    void setUp() {
+        state = new GameState(1L, 2, MAP);
+        state.setPlayer(0, 100L, PlayerColor.RED, Objective.CONQUER_30_COUNTRIES);
+        state.setPlayer(1, 200L, PlayerColor.BLUE, Objective.CONQUER_24_COUNTRIES);
+        for (int country = 0; country < MAP.size(); country++) {
+            state.setCountry(country, 1, 1);
+        }
+        state.setTurn(0, 1, TurnPhase.ATTACK, 0);
+    }
+
+    @Test
+    @DisplayName("Dice are packed from highest to lowest")
+    void shouldRollSortedDice() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 1000; i++) {
+            int packed = Battle.rollSorted(random, 3);
+            int high = packed >>> 8;
+            int mid = (packed >>> 4) & 0xF;
+            int low = packed & 0xF;
+            assertTrue(high >= mid && mid >= low && low >= 1 && high <= 6);
+        }
+        assertEquals(0, Battle.rollSorted(random, 1) & 0xFF);
+    }
+
+    @Test
+    @DisplayName("A blitz keeps rolling until the country is conquered")
+    void shouldConquerWithBlitz() {
+        state.setCountry(ARGENTINA, 0, 40);
+        state.setCountry(CHILE, 1, 2);
+        AttackResult result = new AttackResult();
+
+        Battle.resolve(state, 0, ARGENTINA, CHILE, Integer.MAX_VALUE, 1, new SplittableRandom(42), result);
+
+        assertTrue(result.isConquered());
+        assertEquals(0, state.getOwner(CHILE));
+        assertEquals(2, result.getDefenderLosses());
+        assertEquals(result.getMovedTroops(), state.getTroops(CHILE));
+        assertEquals(40 - result.getAttackerLosses() - result.getMovedTroops(), state.getTroops(ARGENTINA));
+        assertEquals(1, result.getDefenderSlot());
+    }
+
+    @Test
+    @DisplayName("A single attack rolls once and never empties the attacking country")
+    void shouldRollOnce() {
+        state.setCountry(ARGENTINA, 0, 10);
+        state.setCountry(CHILE, 1, 10);
+        AttackResult result = new AttackResult();
+
+        Battle.resolve(state, 0, ARGENTINA, CHILE, 1, 1, new SplittableRandom(1), result);
+
+        assertEquals(1, result.getRolls());
+        assertEquals(3, result.getAttackerLosses() + result.getDefenderLosses());
+        assertFalse(result.isConquered());
+    }
+
+    @Test
+    @DisplayName("A blitz stops when the attacker reaches the requested floor")
+    void shouldStopAtFloor() {
+        state.setCountry(ARGENTINA, 0, 6);
+        state.setCountry(CHILE, 1, 60);
+        AttackResult result = new AttackResult();
+
+        Battle.resolve(state, 0, ARGENTINA, CHILE, Integer.MAX_VALUE, 4, new SplittableRandom(3), result);
+
+        assertFalse(result.isConquered());
+        assertTrue(state.getTroops(ARGENTINA) <= 4 && state.getTroops(ARGENTINA) >= 2);
+    }
+
+    @Test
+    @DisplayName("Attacks must target a bordering enemy country")
+    void shouldRejectInvalidAttack() {
+        state.setCountry(ARGENTINA, 0, 5);
+        AttackResult result = new AttackResult();
+        SplittableRandom random = new SplittableRandom(0);
+
+        assertThrows(RuntimeException.class, () ->
+                Battle.resolve(state, 0, ARGENTINA, MAP.ordinal("JAPON"), 1, 1, random, result));
+    }
+
+    @Test
+    @DisplayName("An attack that could not roll once is rejected without touching the board")
+    void shouldRejectAttackAtFloor() {
+        state.setCountry(ARGENTINA, 0, 4);
+        state.setCountry(CHILE, 1, 3);
+        state.collectChanges();
+        long version = state.getVersion();
+        AttackResult result = new AttackResult();
+        SplittableRandom random = new SplittableRandom(0);
+
+        assertThrows(RuntimeException.class, () ->
+                Battle.resolve(state, 0, ARGENTINA, CHILE, Integer.MAX_VALUE, 4, random, result));
+        assertEquals(version, state.getVersion());
+        assertTrue(state.collectChanges().isEmpty());
+        assertEquals(4, state.getTroops(ARGENTINA));
+    }
+}
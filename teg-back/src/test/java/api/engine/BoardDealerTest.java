@@ -0,0 +1,56 @@
+package api.engine;
+
+import api.model.GamePlayer;
+import api.model.GamePlayerId;
+import api.model.Objective;
+import api.model.PlayerColor;
+import api.model.TurnPhase;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardDealerTest {
+
+    private static final WorldMap MAP = WorldMap.loadDefault();
+
+    @Test
+    @DisplayName("Every country is dealt and players get distinct valid objectives")
+    void shouldDealBoard() {
+        List<GamePlayer> players = List.of(
+                player(20L, PlayerColor.BLUE, 2),
+                player(10L, PlayerColor.RED, 1),
+                player(30L, PlayerColor.GREEN, 3)
+        );
+
+        GameState state = BoardDealer.deal(1L, players, MAP, new Random(42));
+
+        assertEquals(10L, state.getUserId(0));
+        assertEquals(MAP.allCountries(), state.getTerritories(0) | state.getTerritories(1) | state.getTerritories(2));
+        assertEquals(17, state.countCountries(0));
+        assertEquals(16, state.countCountries(2));
+        assertEquals(TurnPhase.REINFORCE, state.getPhase());
+        assertEquals(state.reinforcementsFor(0), state.getPendingTroops());
+
+        Set<Objective> objectives = new HashSet<>();
+        for (int slot = 0; slot < state.getPlayerCount(); slot++) {
+            Objective objective = state.getObjective(slot);
+            assertTrue(objectives.add(objective));
+            PlayerColor target = ObjectiveTracker.destroyTarget(objective);
+            assertTrue(target == null || (target != state.getColor(slot) && state.slotOf(target) != GameState.NO_OWNER));
+        }
+    }
+
+    private static GamePlayer player(long userId, PlayerColor color, int turnOrder) {
+        return GamePlayer.builder()
+                .id(new GamePlayerId(1L, userId))
+                .color(color)
+                .turnOrder(turnOrder)
+                .build();
+    }
+}
@@ -0,0 +1,115 @@
+package api.engine;
+
+import api.model.Objective;
+import api.model.PlayerColor;
+import api.model.TurnPhase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class GameEngineTest {
+
+    private static final WorldMap MAP = WorldMap.loadDefault();
+
+    private GameStateLoader gameStateLoader;
+    private GameEngine gameEngine;
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+
+    @BeforeEach
+    void setUp() {
+        gameStateLoader = mock(GameStateLoader.class);
+        GameEventLog gameEventLog = mock(GameEventLog.class);
+        when(gameEventLog.awaitCapacity()).thenReturn(true);
+        gameEngine = new GameEngine(gameStateLoader, gameEventLog, mock(ApplicationEventPublisher.class));
+        ReflectionTestUtils.setField(gameEngine, "journalCapacity", 16);
+        ReflectionTestUtils.setField(gameEngine, "snapshotInterval", 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Games loaded by concurrent requests are hosted once")
+    void shouldKeepFirstLoadedGame() throws Exception {
+        CountDownLatch loading = new CountDownLatch(2);
+        when(gameStateLoader.load(1L)).thenAnswer(invocation -> {
+            loading.countDown();
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            return newGame(1L);
+        });
+
+        Future<GameState> first = callers.submit(() -> gameEngine.read(1L, state -> state));
+        Future<GameState> second = callers.submit(() -> gameEngine.read(1L, state -> state));
+
+        assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+        assertSame(first.get(), gameEngine.read(1L, state -> state));
+        verify(gameStateLoader, times(2)).load(1L);
+    }
+
+    @Test
+    @DisplayName("A game can be loaded while loading another one")
+    void shouldLoadOutsideTheMap() {
+        when(gameStateLoader.load(2L)).thenReturn(newGame(2L));
+        when(gameStateLoader.load(1L)).thenAnswer(invocation -> {
+            gameEngine.read(2L, state -> state);
+            return newGame(1L);
+        });
+
+        assertEquals(1L, gameEngine.read(1L, GameState::getGameId));
+        assertTrue(gameEngine.isHosted(2L));
+    }
+
+    @Test
+    @DisplayName("Evicting a game waits for the running action and stops later ones")
+    void shouldEvictUnderTheGameLock() throws Exception {
+        GameState state = newGame(1L);
+        for (int country = 0; country < MAP.size(); country++) {
+            state.setCountry(country, country % 2, 1);
+        }
+        state.setTurn(0, 1, TurnPhase.REINFORCE, 3);
+        gameEngine.register(state);
+        when(gameStateLoader.load(1L)).thenThrow(new RuntimeException("Game is not in progress"));
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<?> move = callers.submit(() -> gameEngine.execute(1L, game -> {
+            running.countDown();
+            assertDoesNotThrow(() -> release.await(5, TimeUnit.SECONDS));
+            game.skipTurn();
+            return null;
+        }));
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        Future<?> eviction = callers.submit(() -> gameEngine.evict(1L));
+
+        Thread.sleep(100);
+        assertFalse(eviction.isDone());
+        release.countDown();
+        move.get(5, TimeUnit.SECONDS);
+        eviction.get(5, TimeUnit.SECONDS);
+
+        assertFalse(gameEngine.isHosted(1L));
+        assertFalse(gameEngine.hasDirtyGames());
+        assertThrows(RuntimeException.class, () -> gameEngine.execute(1L, game -> fail("Applied to an evicted game")));
+    }
+
+    private static GameState newGame(long gameId) {
+        GameState state = new GameState(gameId, 2, MAP);
+        state.setPlayer(0, 100L, PlayerColor.RED, Objective.CONQUER_30_COUNTRIES);
+        state.setPlayer(1, 200L, PlayerColor.BLUE, Objective.CONQUER_24_COUNTRIES);
+        return state;
+    }
+}
@@ -0,0 +1,45 @@
+package api.engine;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameJournalTest {
+
+    @Test
+    @DisplayName("Returns the deltas after a retained sequence number")
+    void shouldReturnDeltasSince() {
+        GameJournal journal = new GameJournal(4);
+        journal.append(deltas(1, 3));
+
+        List<GameDelta> since = journal.since(1);
+
+        assertEquals(2, since.size());
+        assertEquals(2, since.get(0).seq());
+        assertEquals(3, since.get(1).seq());
+        assertTrue(journal.since(3).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Asks for a resync when deltas were overwritten or the sequence is unknown")
+    void shouldRequireResync() {
+        GameJournal journal = new GameJournal(4);
+        journal.append(deltas(1, 10));
+
+        assertNull(journal.since(2));
+        assertNull(journal.since(11));
+        assertEquals(4, journal.since(6).size());
+    }
+
+    private static List<GameDelta> deltas(long first, long last) {
+        List<GameDelta> deltas = new ArrayList<>();
+        for (long seq = first; seq <= last; seq++) {
+            deltas.add(GameDelta.troops(seq, 0, (int) seq));
+        }
+        return deltas;
+    }
+}
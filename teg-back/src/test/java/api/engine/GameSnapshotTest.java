@@ -0,0 +1,106 @@
+package api.engine;
+
+import api.model.Objective;
+import api.model.PlayerColor;
+import api.model.TurnPhase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameSnapshotTest {
+
+    private static final WorldMap MAP = WorldMap.loadDefault();
+
+    private GameState state;
+
+    @BeforeEach
+    void setUp() {
+        state = new GameState(1L, 3, MAP);
+        state.setPlayer(0, 100L, PlayerColor.RED, Objective.DESTROY_GREEN);
+        state.setPlayer(1, 200L, PlayerColor.BLUE, Objective.CONQUER_24_COUNTRIES);
+        state.setPlayer(2, 300L, PlayerColor.GREEN, Objective.CONQUER_30_COUNTRIES);
+        for (int country = 0; country < MAP.size(); country++) {
+            state.setCountry(country, country % 2, 2);
+        }
+        state.setCountry(MAP.ordinal("CHILE"), 2, 1);
+        state.setCountry(MAP.ordinal("ARGENTINA"), 0, 5);
+        state.setTurn(0, 1, TurnPhase.REINFORCE, 3);
+    }
+
+    @Test
+    @DisplayName("A snapshot restores the whole state")
+    void shouldRoundTrip() {
+        state.placeTroops(0, MAP.ordinal("ARGENTINA"), 3);
+        state.collectChanges();
+
+        GameState restored = GameSnapshot.decode(GameSnapshot.encode(state), MAP);
+
+        assertSameState(state, restored);
+    }
+
+    @Test
+    @DisplayName("Replaying the events after a snapshot rebuilds the live state")
+    void shouldRebuildFromSnapshotAndEvents() {
+        byte[] snapshot = GameSnapshot.encode(state);
+        List<GameDelta> tail = new ArrayList<>();
+
+        state.placeTroops(0, MAP.ordinal("ARGENTINA"), 3);
+        tail.addAll(state.collectChanges());
+        int argentina = MAP.ordinal("ARGENTINA");
+        int chile = MAP.ordinal("CHILE");
+        state.applyLosses(argentina, chile, 0, 1);
+        state.conquer(argentina, chile, 2);
+        state.declareWinner(0);
+        tail.addAll(state.collectChanges());
+
+        GameState rebuilt = GameSnapshot.decode(snapshot, MAP);
+        tail.forEach(rebuilt::apply);
+
+        assertSameState(state, rebuilt);
+        assertFalse(rebuilt.getTracker().isAlive(2));
+        assertTrue(rebuilt.isObjectiveAchieved(0));
+        assertEquals(0, rebuilt.getWinner());
+    }
+
+    @Test
+    @DisplayName("A rebuilt game continues the journal from its sequence")
+    void shouldContinueJournalFromSequence() {
+        state.placeTroops(0, MAP.ordinal("ARGENTINA"), 3);
+        state.collectChanges();
+        GameState restored = GameSnapshot.decode(GameSnapshot.encode(state), MAP);
+        GameJournal journal = new GameJournal(8, restored.getSequence());
+
+        restored.endTurn(0);
+        journal.append(restored.collectChanges());
+
+        assertNull(journal.since(0));
+        assertEquals(1, journal.since(restored.getSequence() - 1).size());
+    }
+
+    private static void assertSameState(GameState expected, GameState actual) {
+        assertEquals(expected.getGameId(), actual.getGameId());
+        assertEquals(expected.getSequence(), actual.getSequence());
+        assertEquals(expected.getCurrentSlot(), actual.getCurrentSlot());
+        assertEquals(expected.getRound(), actual.getRound());
+        assertEquals(expected.getPhase(), actual.getPhase());
+        assertEquals(expected.getPendingTroops(), actual.getPendingTroops());
+        assertEquals(expected.getWinner(), actual.getWinner());
+        assertEquals(expected.getTracker().getAlivePlayers(), actual.getTracker().getAlivePlayers());
+        for (int slot = 0; slot < expected.getPlayerCount(); slot++) {
+            assertEquals(expected.getUserId(slot), actual.getUserId(slot));
+            assertEquals(expected.getColor(slot), actual.getColor(slot));
+            assertEquals(expected.getObjective(slot), actual.getObjective(slot));
+            assertEquals(expected.getTerritories(slot), actual.getTerritories(slot));
+            assertEquals(expected.countCountries(slot), actual.countCountries(slot));
+        }
+        for (int country = 0; country < expected.getCountryCount(); country++) {
+            assertEquals(expected.getOwner(country), actual.getOwner(country));
+            assertEquals(expected.getTroops(country), actual.getTroops(country));
+        }
+    }
+}
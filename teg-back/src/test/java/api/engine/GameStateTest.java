@@ -0,0 +1,132 @@
+package api.engine;
+
+import api.model.Objective;
+import api.model.PlayerColor;
+import api.model.TurnPhase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameStateTest {
+
+    private static final WorldMap MAP = WorldMap.loadDefault();
+
+    private GameState state;
+
+    @BeforeEach
+    void setUp() {
+        state = new GameState(1L, 2, MAP);
+        state.setPlayer(0, 100L, PlayerColor.RED, Objective.CONQUER_30_COUNTRIES);
+        state.setPlayer(1, 200L, PlayerColor.BLUE, Objective.CONQUER_24_COUNTRIES);
+        for (int country = 0; country < MAP.size(); country++) {
+            state.setCountry(country, country % 2, 1);
+        }
+        state.setTurn(0, 1, TurnPhase.REINFORCE, 3);
+    }
+
+    @Test
+    @DisplayName("Placing all reinforcements moves the turn to the attack phase")
+    void shouldPlaceTroopsAndAdvancePhase() {
+        state.placeTroops(0, 0, 2);
+        state.placeTroops(0, 2, 1);
+
+        assertEquals(3, state.getTroops(0));
+        assertEquals(2, state.getTroops(2));
+        assertEquals(0, state.getPendingTroops());
+        assertEquals(TurnPhase.ATTACK, state.getPhase());
+        assertEquals(0b101L, state.getDirtyCountries());
+    }
+
+    @Test
+    @DisplayName("Troops cannot be placed on a country owned by another player")
+    void shouldRejectTroopsOnForeignCountry() {
+        assertThrows(RuntimeException.class, () -> state.placeTroops(0, 1, 1));
+    }
+
+    @Test
+    @DisplayName("Only the current player can act")
+    void shouldRejectOtherPlayer() {
+        assertThrows(RuntimeException.class, () -> state.requireCurrentPlayer(200L));
+        assertEquals(0, state.requireCurrentPlayer(100L));
+    }
+
+    @Test
+    @DisplayName("Ending the turn hands reinforcements to the next player")
+    void shouldEndTurn() {
+        state.placeTroops(0, 0, 3);
+        state.endTurn(0);
+
+        assertEquals(200L, state.getCurrentUserId());
+        assertEquals(TurnPhase.REINFORCE, state.getPhase());
+        assertEquals(12, state.getPendingTroops());
+        assertEquals(1, state.getRound());
+
+        state.placeTroops(1, 1, 12);
+        state.endTurn(1);
+        assertEquals(2, state.getRound());
+    }
+
+    @Test
+    @DisplayName("Troops can only be moved between connected countries")
+    void shouldFortifyThroughOwnTerritory() {
+        int argentina = MAP.ordinal("ARGENTINA");
+        int chile = MAP.ordinal("CHILE");
+        int uruguay = MAP.ordinal("URUGUAY");
+        state.setCountry(argentina, 0, 5);
+        state.setCountry(chile, 0, 1);
+        state.setCountry(uruguay, 0, 1);
+        state.setCountry(MAP.ordinal("JAPON"), 0, 1);
+        state.setCountry(MAP.ordinal("KAMCHATKA"), 1, 1);
+        state.setCountry(MAP.ordinal("CHINA"), 1, 1);
+        state.setTurn(0, 1, TurnPhase.ATTACK, 0);
+
+        state.fortify(0, argentina, uruguay, 2);
+        assertEquals(3, state.getTroops(argentina));
+        assertEquals(3, state.getTroops(uruguay));
+        assertEquals(TurnPhase.FORTIFY, state.getPhase());
+
+        assertThrows(RuntimeException.class, () -> state.fortify(0, argentina, MAP.ordinal("JAPON"), 1));
+        assertThrows(RuntimeException.class, () -> state.fortify(0, argentina, chile, 3));
+    }
+
+    @Test
+    @DisplayName("Copies are independent of the live state")
+    void shouldCopyState() {
+        GameState copy = state.copy();
+        state.placeTroops(0, 0, 3);
+
+        assertEquals(1, copy.getTroops(0));
+        assertEquals(4, state.getTroops(0));
+    }
+
+    @Test
+    @DisplayName("Changes are collected as sequenced deltas once")
+    void shouldCollectSequencedDeltas() {
+        state.placeTroops(0, 0, 2);
+        state.placeTroops(0, 0, 1);
+
+        var deltas = state.collectChanges();
+
+        assertEquals(2, deltas.size());
+        assertEquals(GameDelta.Type.TROOPS_CHANGED, deltas.get(0).type());
+        assertEquals(4, deltas.get(0).troops());
+        assertEquals(GameDelta.Type.TURN_CHANGED, deltas.get(1).type());
+        assertEquals(TurnPhase.ATTACK, deltas.get(1).phase());
+        assertEquals(2, state.getSequence());
+        assertTrue(state.collectChanges().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Skipping a turn places pending troops on the strongest country and passes the turn")
+    void shouldSkipTurn() {
+        state.setCountry(4, 0, 5);
+
+        state.skipTurn();
+
+        assertEquals(8, state.getTroops(4));
+        assertEquals(1, state.getCurrentSlot());
+        assertEquals(TurnPhase.REINFORCE, state.getPhase());
+    }
+}
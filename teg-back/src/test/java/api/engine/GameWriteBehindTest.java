@@ -0,0 +1,108 @@
+package api.engine;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class GameWriteBehindTest {
+
+    private GameEventLog gameEventLog;
+    private GameStatePersister gameStatePersister;
+    private GameEngine gameEngine;
+    private GameWriteBehind writeBehind;
+
+    @BeforeEach
+    void setUp() {
+        gameEventLog = mock(GameEventLog.class);
+        gameStatePersister = mock(GameStatePersister.class);
+        gameEngine = mock(GameEngine.class);
+        when(gameEventLog.flush()).thenReturn(true);
+        when(gameStatePersister.flush()).thenReturn(true);
+        writeBehind = new GameWriteBehind(gameEventLog, gameStatePersister, gameEngine);
+        // A long interval, so only requested flushes happen during a test
+        ReflectionTestUtils.setField(writeBehind, "flushIntervalMillis", 60_000L);
+        ReflectionTestUtils.setField(writeBehind, "flushThreshold", 100);
+        ReflectionTestUtils.setField(writeBehind, "durableTurnEnd", true);
+        ReflectionTestUtils.setField(writeBehind, "turnEndTimeoutMillis", 2_000L);
+        writeBehind.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (writeBehind.isRunning()) {
+            writeBehind.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Ending a turn triggers a flush")
+    void shouldFlushOnTurnEnd() {
+        writeBehind.onDeltas(new GameDeltasEvent(1L, List.of(), null, false));
+        verify(gameEventLog, after(200).never()).flush();
+
+        writeBehind.onDeltas(new GameDeltasEvent(1L, List.of(), null, true));
+        verify(gameEventLog, timeout(1_000)).flush();
+        verify(gameStatePersister, timeout(1_000)).flush();
+    }
+
+    @Test
+    @DisplayName("A growing backlog triggers a flush before the interval")
+    void shouldFlushWhenBacklogGrows() {
+        when(gameEventLog.getPendingEvents()).thenReturn(150);
+
+        writeBehind.onDeltas(new GameDeltasEvent(1L, List.of(), null, false));
+
+        verify(gameEventLog, timeout(1_000)).flush();
+    }
+
+    @Test
+    @DisplayName("A turn end is acknowledged only after the event log was written")
+    void shouldWaitForDurableTurnEnd() {
+        writeBehind.awaitTurnEnd();
+
+        verify(gameEventLog).flush();
+    }
+
+    @Test
+    @DisplayName("Board rows are not written while the event log cannot be")
+    void shouldKeepBoardBehindEventLog() {
+        when(gameEventLog.flush()).thenReturn(false);
+
+        writeBehind.requestFlush();
+
+        verify(gameEventLog, timeout(1_000)).flush();
+        verify(gameStatePersister, after(200).never()).flush();
+    }
+
+    @Test
+    @DisplayName("A turn end gives up waiting when the event log cannot be written")
+    void shouldNotWaitForeverWhenLogFails() {
+        when(gameEventLog.flush()).thenReturn(false);
+        ReflectionTestUtils.setField(writeBehind, "turnEndTimeoutMillis", 100L);
+
+        long start = System.nanoTime();
+        writeBehind.awaitTurnEnd();
+
+        assertTrue(System.nanoTime() - start < 1_000_000_000L);
+    }
+
+    @Test
+    @DisplayName("Stopping drains whatever is still queued")
+    void shouldDrainOnStop() {
+        when(gameEventLog.getPendingEvents()).thenReturn(0);
+        when(gameEngine.hasDirtyGames()).thenReturn(false);
+
+        writeBehind.stop();
+
+        assertFalse(writeBehind.isRunning());
+        verify(gameEventLog, atLeastOnce()).flush();
+        verify(gameStatePersister, atLeastOnce()).flush();
+    }
+}
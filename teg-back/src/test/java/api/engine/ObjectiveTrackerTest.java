@@ -0,0 +1,94 @@
+package api.engine;
+
+import api.model.Continent;
+import api.model.Objective;
+import api.model.PlayerColor;
+import api.model.TurnPhase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ObjectiveTrackerTest {
+
+    private static final WorldMap MAP = WorldMap.loadDefault();
+
+    private GameState state;
+
+    @BeforeEach
+    void setUp() {
+        state = new GameState(1L, 3, MAP);
+        state.setPlayer(0, 100L, PlayerColor.RED, Objective.CONQUER_EUROPE_AND_OCEANIA);
+        state.setPlayer(1, 200L, PlayerColor.BLUE, Objective.DESTROY_GREEN);
+        state.setPlayer(2, 300L, PlayerColor.GREEN, Objective.CONQUER_TWO_CONTINENTS);
+        for (int country = 0; country < MAP.size(); country++) {
+            state.setCountry(country, 1, 1);
+        }
+        state.setTurn(0, 1, TurnPhase.ATTACK, 0);
+    }
+
+    @Test
+    @DisplayName("Counters follow every ownership change")
+    void shouldTrackCounters() {
+        ObjectiveTracker tracker = state.getTracker();
+        assertEquals(50, tracker.countries(1));
+        assertEquals(6, tracker.completedContinents(1));
+
+        int java = MAP.ordinal("JAVA");
+        state.setCountry(java, 0, 1);
+
+        assertEquals(49, tracker.countries(1));
+        assertEquals(1, tracker.countries(0, Continent.OCEANIA));
+        assertEquals(5, tracker.completedContinents(1));
+    }
+
+    @Test
+    @DisplayName("Two named continents complete the continent objective")
+    void shouldAchieveContinentObjective() {
+        ownAll(0, MAP.countriesOf(Continent.EUROPE));
+        assertFalse(state.isObjectiveAchieved(0));
+
+        ownAll(0, MAP.countriesOf(Continent.OCEANIA));
+        assertTrue(state.isObjectiveAchieved(0));
+    }
+
+    @Test
+    @DisplayName("Any two continents complete the two continents objective")
+    void shouldAchieveTwoContinents() {
+        ownAll(2, MAP.countriesOf(Continent.AFRICA) | MAP.countriesOf(Continent.SOUTH_AMERICA));
+        assertTrue(state.isObjectiveAchieved(2));
+    }
+
+    @Test
+    @DisplayName("Destroying the target color completes the destroy objective")
+    void shouldAchieveDestroyObjective() {
+        int argentina = MAP.ordinal("ARGENTINA");
+        int chile = MAP.ordinal("CHILE");
+        ownAll(0, MAP.allCountries());
+        state.setCountry(chile, 2, 1);
+        state.setCountry(argentina, 1, 5);
+        assertFalse(state.isObjectiveAchieved(1));
+
+        state.applyLosses(argentina, chile, 0, 1);
+        state.conquer(argentina, chile, 1);
+
+        assertFalse(state.getTracker().isAlive(2));
+        assertEquals(2, state.getTracker().getAlivePlayers());
+        assertTrue(state.isObjectiveAchieved(1));
+    }
+
+    @Test
+    @DisplayName("Thirty countries is the common objective for every player")
+    void shouldAchieveCommonObjective() {
+        long thirty = (1L << 30) - 1;
+        ownAll(0, thirty);
+        assertTrue(state.isObjectiveAchieved(0));
+    }
+
+    private void ownAll(int slot, long countries) {
+        for (long bits = countries; bits != 0; bits &= bits - 1) {
+            state.setCountry(Long.numberOfTrailingZeros(bits), slot, 1);
+        }
+    }
+}
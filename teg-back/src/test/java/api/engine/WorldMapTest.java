@@ -0,0 +1,63 @@
+package api.engine;
+
+import api.model.Continent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorldMapTest {
+
+    private static final WorldMap MAP = WorldMap.loadDefault();
+
+    @Test
+    @DisplayName("The default map has 50 countries in 6 continents")
+    void shouldLoadDefaultMap() {
+        assertEquals(1, MAP.getVersion());
+        assertEquals(50, MAP.size());
+        assertEquals(50, Long.bitCount(MAP.allCountries()));
+        long union = 0;
+        for (Continent continent : Continent.values()) {
+            assertEquals(0, union & MAP.countriesOf(continent));
+            union |= MAP.countriesOf(continent);
+        }
+        assertEquals(MAP.allCountries(), union);
+        assertEquals(15, Long.bitCount(MAP.countriesOf(Continent.ASIA)));
+    }
+
+    @Test
+    @DisplayName("Borders are symmetric and cross continents")
+    void shouldCheckBorders() {
+        int brasil = MAP.ordinal("BRASIL");
+        int sahara = MAP.ordinal("SAHARA");
+        assertTrue(MAP.borders(brasil, sahara));
+        assertTrue(MAP.borders(sahara, brasil));
+        assertFalse(MAP.borders(brasil, MAP.ordinal("JAPON")));
+        assertEquals(Continent.AFRICA, MAP.continentOf(sahara));
+    }
+
+    @Test
+    @DisplayName("Continent ownership and bonus are computed from a territory mask")
+    void shouldCheckContinentOwnership() {
+        long oceania = MAP.countriesOf(Continent.OCEANIA);
+        long territories = oceania | (1L << MAP.ordinal("ARGENTINA"));
+
+        assertTrue(MAP.ownsContinent(territories, Continent.OCEANIA));
+        assertFalse(MAP.ownsContinent(territories, Continent.SOUTH_AMERICA));
+        assertEquals(2, MAP.continentBonus(territories));
+        assertFalse(MAP.ownsContinent(oceania & ~(1L << MAP.ordinal("JAVA")), Continent.OCEANIA));
+    }
+
+    @Test
+    @DisplayName("Reachability follows chains of owned countries only")
+    void shouldComputeReachability() {
+        long territories = (1L << MAP.ordinal("ARGENTINA"))
+                | (1L << MAP.ordinal("CHILE"))
+                | (1L << MAP.ordinal("AUSTRALIA"))
+                | (1L << MAP.ordinal("JAVA"))
+                | (1L << MAP.ordinal("MEXICO"));
+
+        assertTrue(MAP.canReach(MAP.ordinal("ARGENTINA"), MAP.ordinal("JAVA"), territories));
+        assertFalse(MAP.canReach(MAP.ordinal("ARGENTINA"), MAP.ordinal("MEXICO"), territories));
+    }
+}
@@ -0,0 +1,97 @@
+package api.security;
+
+import api.model.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "testSecretKey123456789012345678901234";
+
+    private final User user = User.builder().id(1L).username("alice").email("alice@teg.com").password("x").build();
+    private final User other = User.builder().id(2L).username("bob").email("bob@teg.com").password("x").build();
+
+    @Test
+    @DisplayName("A token is valid only for its own user")
+    void shouldValidateToken() {
+        JwtService jwtService = new JwtService(SECRET, 60_000, 100);
+        String token = jwtService.generateToken(user);
+
+        assertEquals("alice", jwtService.extractUsername(token));
+        assertTrue(jwtService.isTokenValid(token, user));
+        assertFalse(jwtService.isTokenValid(token, other));
+    }
+
+    @Test
+    @DisplayName("Tokens signed with another key are rejected even after a cache hit")
+    void shouldRejectForeignToken() throws Exception {
+        JwtService jwtService = new JwtService(SECRET, 60_000, 100);
+        String token = jwtService.generateToken(user);
+        assertTrue(jwtService.isTokenValid(token, user));
+
+        // Same header and claims as the cached token, signed with another key
+        String content = token.substring(0, token.lastIndexOf('.'));
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.replace('1', '9').getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        String forged = content + "." + Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(mac.doFinal(content.getBytes(StandardCharsets.US_ASCII)));
+
+        assertNotEquals(token, forged);
+        assertThrows(RuntimeException.class, () -> jwtService.isTokenValid(forged, user));
+        assertTrue(jwtService.isTokenValid(token, user));
+    }
+
+    @Test
+    @DisplayName("Expired tokens are rejected instead of served from the cache")
+    void shouldRejectExpiredToken() throws InterruptedException {
+        // Expirations are truncated to whole seconds, so a token lives between one and two seconds
+        JwtService jwtService = new JwtService(SECRET, 2_000, 100);
+        String token = jwtService.generateToken(user);
+        assertTrue(jwtService.isTokenValid(token, user));
+
+        Thread.sleep(2_100);
+
+        assertThrows(RuntimeException.class, () -> jwtService.isTokenValid(token, user));
+    }
+
+    @Test
+    @DisplayName("The claims cache never grows past its bound")
+    void shouldBoundClaimsCache() {
+        ClaimsCache cache = new ClaimsCache(2);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 5; i++) {
+            Claims claims = Jwts.claims().setSubject("player" + i).setExpiration(new Date(now + 60_000));
+            cache.put("token" + i, claims, now);
+        }
+
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    @DisplayName("A full claims cache frees a tenth of its entries at once")
+    void shouldEvictClaimsInBatches() {
+        ClaimsCache cache = new ClaimsCache(100);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 101; i++) {
+            Claims claims = Jwts.claims().setSubject("player" + i).setExpiration(new Date(now + 60_000));
+            cache.put("token" + i, claims, now);
+        }
+        assertEquals(91, cache.size());
+
+        for (int i = 101; i < 110; i++) {
+            Claims claims = Jwts.claims().setSubject("player" + i).setExpiration(new Date(now + 60_000));
+            cache.put("token" + i, claims, now);
+        }
+        assertEquals(100, cache.size());
+    }
+}
@@ -0,0 +1,34 @@
+package api.security;
+
+import api.exception.TooManyRequestsException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginRateLimiterTest {
+
+    @Test
+    @DisplayName("Each account gets its own budget")
+    void shouldLimitPerAccount() {
+        LoginRateLimiter limiter = new LoginRateLimiter(100, 2);
+
+        limiter.acquire("10.0.0.1", "alice");
+        limiter.acquire("10.0.0.2", "Alice");
+
+        assertThrows(TooManyRequestsException.class, () -> limiter.acquire("10.0.0.3", "alice"));
+        assertDoesNotThrow(() -> limiter.acquire("10.0.0.3", "bob"));
+    }
+
+    @Test
+    @DisplayName("Each IP gets its own budget across accounts")
+    void shouldLimitPerIp() {
+        LoginRateLimiter limiter = new LoginRateLimiter(2, 100);
+
+        limiter.acquire("10.0.0.1", "alice");
+        limiter.acquire("10.0.0.1", "bob");
+
+        assertThrows(TooManyRequestsException.class, () -> limiter.acquire("10.0.0.1", "carol"));
+        assertDoesNotThrow(() -> limiter.acquire("10.0.0.2", "carol"));
+    }
+}
@@ -0,0 +1,65 @@
+package api.security;
+
+import api.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserPrincipalCacheTest {
+
+    private UserDetailsService userDetailsService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userDetailsService = mock(UserDetailsService.class);
+        user = User.builder().id(1L).username("alice").email("alice@teg.com").password("hash").isActive(true).build();
+        when(userDetailsService.loadUserByUsername("alice")).thenAnswer(invocation -> user);
+    }
+
+    @Test
+    @DisplayName("Principals are detached from the entity and loaded once per TTL")
+    void shouldCachePrincipal() {
+        UserPrincipalCache cache = new UserPrincipalCache(userDetailsService, 60_000, 100);
+
+        UserPrincipal principal = cache.load("alice");
+        cache.load("alice");
+
+        assertEquals(1L, principal.getId());
+        assertNull(principal.getPassword());
+        assertTrue(principal.isEnabled());
+        verify(userDetailsService, times(1)).loadUserByUsername("alice");
+    }
+
+    @Test
+    @DisplayName("Entries expire after the TTL")
+    void shouldExpireEntries() {
+        UserPrincipalCache cache = new UserPrincipalCache(userDetailsService, 0, 100);
+
+        cache.load("alice");
+        cache.load("alice");
+
+        verify(userDetailsService, times(2)).loadUserByUsername("alice");
+    }
+
+    @Test
+    @DisplayName("A full cache frees a tenth of its entries at once")
+    void shouldEvictInBatches() {
+        when(userDetailsService.loadUserByUsername(anyString())).thenAnswer(invocation -> user);
+        UserPrincipalCache cache = new UserPrincipalCache(userDetailsService, 60_000, 100);
+
+        for (int i = 0; i < 101; i++) {
+            cache.load("player" + i);
+        }
+        assertEquals(91, cache.size());
+
+        for (int i = 101; i < 110; i++) {
+            cache.load("player" + i);
+        }
+        assertEquals(100, cache.size());
+    }
+}
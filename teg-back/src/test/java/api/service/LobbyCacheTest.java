@@ -0,0 +1,54 @@
+package api.service;
+
+import api.dto.GamesListEvent;
+import api.model.GameStatus;
+import api.repository.GameRepository;
+import api.websocket.ServerEventSender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class LobbyCacheTest {
+
+    private GameRepository gameRepository;
+    private ServerEventSender eventSender;
+    private LobbyCache lobbyCache;
+
+    @BeforeEach
+    void setUp() {
+        gameRepository = mock(GameRepository.class);
+        eventSender = mock(ServerEventSender.class);
+        when(gameRepository.findLobbyRowsByStatus(GameStatus.WAITING)).thenReturn(List.of());
+        lobbyCache = new LobbyCache(gameRepository, eventSender);
+    }
+
+    @Test
+    @DisplayName("Reads are served from memory until the lobby changes")
+    void shouldServeReadsFromMemory() {
+        lobbyCache.getGames();
+        lobbyCache.getGames();
+        lobbyCache.onLobbyChanged(new LobbyChangedEvent(1L));
+        lobbyCache.getGames();
+
+        verify(gameRepository, times(2)).findLobbyRowsByStatus(GameStatus.WAITING);
+    }
+
+    @Test
+    @DisplayName("A burst of changes is broadcast as a single snapshot")
+    void shouldCoalesceBroadcasts() {
+        lobbyCache.onLobbyChanged(new LobbyChangedEvent(1L));
+        lobbyCache.onLobbyChanged(new LobbyChangedEvent(2L));
+        lobbyCache.onLobbyChanged(new LobbyChangedEvent(1L));
+        lobbyCache.broadcast();
+        lobbyCache.broadcast();
+
+        verify(eventSender, times(1)).send(eq("/topic/lobby"), any(GamesListEvent.class));
+        verify(gameRepository, times(1)).findLobbyRowsByStatus(GameStatus.WAITING);
+    }
+}
@@ -0,0 +1,77 @@
+package api.timer;
+
+import api.dto.LobbyEvent;
+import api.engine.GameEngine;
+import api.engine.GameState;
+import api.engine.ObjectiveTracker;
+import api.exception.ServiceUnavailableException;
+import api.repository.GameRepository;
+import api.service.GameService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Function;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class GameTimersTest {
+
+    private GameEngine gameEngine;
+    private GameState state;
+    private GameTimers timers;
+
+    @BeforeEach
+    void setUp() {
+        gameEngine = mock(GameEngine.class);
+        state = mock(GameState.class);
+        ObjectiveTracker tracker = mock(ObjectiveTracker.class);
+        when(tracker.isAlive(anyInt())).thenReturn(true);
+        when(state.getTracker()).thenReturn(tracker);
+        when(state.getPlayerCount()).thenReturn(2);
+        when(state.getUserId(0)).thenReturn(5L);
+        when(state.getUserId(1)).thenReturn(6L);
+        when(state.getCurrentUserId()).thenReturn(5L);
+        when(gameEngine.read(eq(1L), any())).thenAnswer(invocation ->
+                invocation.<Function<GameState, Object>>getArgument(1).apply(state));
+        timers = new GameTimers(gameEngine, mock(GameService.class), mock(GameRepository.class),
+                10, 64, 50, 50, 2, 0, 20, 1, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        timers.destroy();
+    }
+
+    @Test
+    @DisplayName("A deadline that hits back-pressure is tried again")
+    void shouldRetryOnBackPressure() {
+        when(gameEngine.execute(eq(1L), any()))
+                .thenThrow(new ServiceUnavailableException("Game storage is falling behind, try again later"))
+                .thenAnswer(invocation -> invocation.<Function<GameState, Object>>getArgument(1).apply(state));
+
+        timers.onGameStarted(new LobbyEvent.GameStarted(1L, null));
+
+        verify(state, timeout(2_000)).skipTurn();
+        verify(gameEngine, atLeast(2)).execute(eq(1L), any());
+    }
+
+    @Test
+    @DisplayName("A deadline is dropped once its game is no longer hosted")
+    void shouldDropDeadlineOfGameNoLongerHosted() throws InterruptedException {
+        when(gameEngine.execute(eq(1L), any())).thenThrow(new RuntimeException("Game is not in progress"));
+        when(gameEngine.isHosted(1L)).thenReturn(false);
+
+        timers.onGameStarted(new LobbyEvent.GameStarted(1L, null));
+
+        verify(gameEngine, timeout(2_000)).execute(eq(1L), any());
+        Thread.sleep(200);
+        verify(gameEngine, times(1)).execute(eq(1L), any());
+        verify(state, never()).skipTurn();
+    }
+}
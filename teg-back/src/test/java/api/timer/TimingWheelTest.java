@@ -0,0 +1,81 @@
+package api.timer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    private final TimingWheel<String> wheel = new TimingWheel<>(8);
+    private final List<String> expired = new ArrayList<>();
+
+    @Test
+    @DisplayName("A timeout expires on its tick, not before")
+    void shouldExpireOnDeadline() {
+        wheel.schedule("a", 3);
+
+        wheel.advance(2, expired::add);
+        assertTrue(expired.isEmpty());
+
+        wheel.advance(1, expired::add);
+        assertEquals(List.of("a"), expired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Timeouts longer than the wheel wait for extra revolutions")
+    void shouldExpireAfterSeveralRounds() {
+        wheel.schedule("late", 20);
+        wheel.schedule("early", 4);
+
+        wheel.advance(19, expired::add);
+        assertEquals(List.of("early"), expired);
+
+        wheel.advance(1, expired::add);
+        assertEquals(List.of("early", "late"), expired);
+    }
+
+    @Test
+    @DisplayName("Cancelled timeouts never expire and cannot be cancelled twice")
+    void shouldCancelTimeout() {
+        TimingWheel.Timeout<String> first = wheel.schedule("first", 5);
+        wheel.schedule("second", 5);
+        TimingWheel.Timeout<String> third = wheel.schedule("third", 5);
+
+        assertTrue(wheel.cancel(first));
+        assertTrue(wheel.cancel(third));
+        assertFalse(wheel.cancel(first));
+        assertEquals(1, wheel.size());
+
+        wheel.advance(5, expired::add);
+        assertEquals(List.of("second"), expired);
+    }
+
+    @Test
+    @DisplayName("An expired timeout can no longer be cancelled")
+    void shouldNotCancelExpiredTimeout() {
+        TimingWheel.Timeout<String> timeout = wheel.schedule("a", 1);
+
+        wheel.advance(1, expired::add);
+
+        assertFalse(wheel.cancel(timeout));
+        assertEquals(List.of("a"), expired);
+    }
+
+    @Test
+    @DisplayName("Delays are relative to the current tick")
+    void shouldScheduleFromCurrentTick() {
+        wheel.advance(6, expired::add);
+        TimingWheel.Timeout<String> timeout = wheel.schedule("a", 4);
+
+        assertEquals(10, timeout.getDeadline());
+        wheel.advance(3, expired::add);
+        assertTrue(expired.isEmpty());
+        wheel.advance(1, expired::add);
+        assertEquals(List.of("a"), expired);
+    }
+}
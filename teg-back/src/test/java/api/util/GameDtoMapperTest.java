@@ -0,0 +1,45 @@
+package api.util;
+
+import api.dto.GameDTO;
+import api.dto.LobbyGameRow;
+import api.model.GameStatus;
+import api.model.PlayerColor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameDtoMapperTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    @Test
+    @DisplayName("Lobby rows are grouped into games in query order")
+    void shouldGroupLobbyRows() {
+        List<LobbyGameRow> rows = List.of(
+                row(2L, 10L, "alice", PlayerColor.RED, 1),
+                row(2L, 11L, "bob", PlayerColor.BLUE, 2),
+                row(1L, null, null, null, null)
+        );
+
+        List<GameDTO> games = GameDtoMapper.toLobbyGameDTOs(rows);
+
+        assertEquals(2, games.size());
+        assertEquals(2L, games.get(0).getId());
+        assertEquals(2, games.get(0).getPlayers().size());
+        assertEquals("bob", games.get(0).getPlayers().get(1).getUser().getUsername());
+        assertEquals("BLUE", games.get(0).getPlayers().get(1).getColor());
+        assertEquals("alice", games.get(0).getCreatedBy().getUsername());
+        assertTrue(games.get(1).getPlayers().isEmpty());
+    }
+
+    private static LobbyGameRow row(Long gameId, Long playerId, String username, PlayerColor color, Integer order) {
+        return new LobbyGameRow(gameId, "game " + gameId, 6, GameStatus.WAITING, NOW,
+                10L, "alice", "alice@teg.com",
+                playerId, username, username != null ? username + "@teg.com" : null, color, order, NOW,
+                false);
+    }
+}
@@ -0,0 +1,130 @@
+package api.websocket;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class BinaryPayloadCodecTest {
+
+    private static final byte[] JSON = """
+            {"type":"GAME_EVENTS","payload":{"gameId":7,"events":[{"seq":1,"country":"ARGENTINA","troops":12}]}}"""
+            .getBytes(StandardCharsets.UTF_8);
+
+    private BinaryPayloadCodec codec;
+
+    @BeforeEach
+    void setUp() {
+        codec = new BinaryPayloadCodec(Jackson2ObjectMapperBuilder.json());
+    }
+
+    @Test
+    @DisplayName("Sessions that connect with payload-format cbor receive binary CBOR frames")
+    void shouldEncodeNegotiatedSessions() throws Exception {
+        connect("s1", "cbor");
+
+        Message<?> encoded = codec.encode(message("s1", JSON));
+
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(encoded);
+        assertEquals(MimeTypeUtils.APPLICATION_OCTET_STREAM, accessor.getContentType());
+        assertEquals("cbor", accessor.getFirstNativeHeader(BinaryPayloadCodec.FORMAT_HEADER));
+        byte[] cbor = (byte[]) encoded.getPayload();
+        assertTrue(cbor.length < JSON.length);
+        JsonNode decoded = new ObjectMapper(new CBORFactory()).readTree(cbor);
+        assertEquals(new ObjectMapper().readTree(JSON), decoded);
+    }
+
+    @Test
+    @DisplayName("JSON stays the default for every other session")
+    void shouldKeepJsonByDefault() {
+        connect("s1", null);
+        Message<?> message = message("s1", JSON);
+
+        assertSame(message, codec.encode(message));
+    }
+
+    @Test
+    @DisplayName("A broadcast is transcoded once for all binary subscribers")
+    void shouldTranscodeBroadcastOnce() {
+        connect("s1", "cbor");
+        connect("s2", "CBOR");
+
+        Object first = codec.encode(message("s1", JSON)).getPayload();
+        Object second = codec.encode(message("s2", JSON)).getPayload();
+
+        assertSame(first, second);
+    }
+
+    @Test
+    @DisplayName("Subscribers encoding a broadcast at the same time all get the same payload")
+    void shouldShareConcurrentTranscoding() throws Exception {
+        for (int i = 0; i < 8; i++) {
+            connect("s" + i, "cbor");
+        }
+        byte[] json = JSON.clone();
+        ExecutorService threads = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Object>> payloads = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                String sessionId = "s" + i;
+                payloads.add(threads.submit(() -> codec.encode(message(sessionId, json)).getPayload()));
+            }
+            Object first = payloads.get(0).get();
+            for (Future<Object> payload : payloads) {
+                assertSame(first, payload.get());
+            }
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Disconnected sessions fall back to JSON")
+    void shouldForgetDisconnectedSessions() {
+        connect("s1", "cbor");
+        codec.onDisconnect(new SessionDisconnectEvent(this, message("s1", new byte[0]), "s1", null));
+
+        assertFalse(codec.isBinary("s1"));
+    }
+
+    private void connect(String sessionId, String format) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        accessor.setSessionId(sessionId);
+        if (format != null) {
+            accessor.setNativeHeader(BinaryPayloadCodec.FORMAT_HEADER, format);
+        }
+        accessor.setLeaveMutable(true);
+        codec.inboundInterceptor().preSend(
+                MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()), mock(MessageChannel.class));
+    }
+
+    private static Message<byte[]> message(String sessionId, byte[] payload) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setDestination("/topic/game/7");
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        return MessageBuilder.createMessage(payload, accessor.getMessageHeaders());
+    }
+}
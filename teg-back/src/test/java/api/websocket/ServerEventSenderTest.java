@@ -0,0 +1,89 @@
+package api.websocket;
+
+import api.dto.GameDTO;
+import api.dto.GamesListEvent;
+import api.dto.LobbyEvent;
+import api.dto.UserDTO;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ServerEventSenderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private SimpMessageSendingOperations messagingTemplate;
+    private ServerEventSender sender;
+
+    @BeforeEach
+    void setUp() {
+        messagingTemplate = mock(SimpMessageSendingOperations.class);
+        sender = new ServerEventSender(messagingTemplate, objectMapper);
+    }
+
+    @Test
+    @DisplayName("Events are sent as a type and payload envelope")
+    void shouldWrapEventsInEnvelope() throws Exception {
+        sender.onLobbyEvent(new LobbyEvent.UserLeft(7L, 3L));
+
+        JsonNode json = objectMapper.readTree(sentTo("/topic/lobby/7"));
+        assertEquals("USER_LEFT", json.get("type").asText());
+        assertEquals(7, json.get("payload").get("gameId").asLong());
+        assertEquals(3, json.get("payload").get("userId").asLong());
+        assertEquals(2, json.size());
+    }
+
+    @Test
+    @DisplayName("Events with an explicit payload send only that payload")
+    void shouldSendExplicitPayload() throws Exception {
+        GameDTO game = new GameDTO();
+        game.setId(7L);
+        sender.onLobbyEvent(new LobbyEvent.GameStarted(7L, game));
+
+        JsonNode json = objectMapper.readTree(sentTo("/topic/lobby/7"));
+        assertEquals("GAME_STARTED", json.get("type").asText());
+        assertEquals(7, json.get("payload").get("id").asLong());
+    }
+
+    @Test
+    @DisplayName("A new player is announced once with both the user and the player")
+    void shouldAnnounceJoinedPlayer() throws Exception {
+        sender.onLobbyEvent(new LobbyEvent.UserJoined(7L, new UserDTO(3L, "alice", "a@teg.com"), null));
+
+        JsonNode payload = objectMapper.readTree(sentTo("/topic/lobby/7")).get("payload");
+        assertEquals("alice", payload.get("user").get("username").asText());
+        assertTrue(payload.has("player"));
+    }
+
+    @Test
+    @DisplayName("Messages are pre-serialized JSON and user destinations are encoded")
+    void shouldSendPreSerializedMessages() {
+        sender.sendToUser("a/b", "/queue/games", new GamesListEvent(List.of()));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Message<?>> captor = ArgumentCaptor.forClass(Message.class);
+        verify(messagingTemplate).send(eq("/user/a%2Fb/queue/games"), captor.capture());
+        Message<?> message = captor.getValue();
+        assertInstanceOf(byte[].class, message.getPayload());
+        assertEquals(MimeTypeUtils.APPLICATION_JSON, SimpMessageHeaderAccessor.wrap(message).getContentType());
+    }
+
+    private byte[] sentTo(String destination) {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Message<?>> captor = ArgumentCaptor.forClass(Message.class);
+        verify(messagingTemplate).send(eq(destination), captor.capture());
+        return (byte[]) captor.getValue().getPayload();
+    }
+}
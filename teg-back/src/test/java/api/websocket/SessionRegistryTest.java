@@ -0,0 +1,106 @@
+package api.websocket;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.user.MultiServerUserRegistry;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SessionRegistryTest {
+
+    private SessionRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SessionRegistry(mock(SimpUserRegistry.class));
+    }
+
+    @Test
+    @DisplayName("A user with several sessions counts once")
+    void shouldCountUsersOnce() {
+        assertTrue(registry.register("alice", "s1"));
+        assertTrue(registry.register("alice", "s2"));
+        assertTrue(registry.register("bob", "s3"));
+
+        assertEquals(2, registry.getLocalUserCount());
+        assertEquals(3, registry.getLocalSessionCount());
+        assertEquals(2, registry.getSessionCount("alice"));
+    }
+
+    @Test
+    @DisplayName("A user stays connected until the last session closes")
+    void shouldKeepUserUntilLastSession() {
+        registry.register("alice", "s1");
+        registry.register("alice", "s2");
+
+        registry.unregister("alice", "s1");
+        assertTrue(registry.isConnected("alice"));
+        assertEquals(1, registry.getLocalUserCount());
+
+        registry.unregister("alice", "s2");
+        assertFalse(registry.isConnected("alice"));
+        assertEquals(0, registry.getLocalUserCount());
+        assertEquals(0, registry.getLocalSessionCount());
+    }
+
+    @Test
+    @DisplayName("Duplicate connects and disconnects do not skew the counts")
+    void shouldIgnoreDuplicates() {
+        registry.register("alice", "s1");
+        assertFalse(registry.register("alice", "s1"));
+        assertTrue(registry.unregister("alice", "s1"));
+        assertFalse(registry.unregister("alice", "s1"));
+        assertFalse(registry.unregister("bob", "s2"));
+
+        assertEquals(0, registry.getLocalUserCount());
+        assertEquals(0, registry.getLocalSessionCount());
+    }
+
+    @Test
+    @DisplayName("Concurrent connects and disconnects keep exact counts")
+    void shouldCountConcurrently() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 2000; i++) {
+            String user = "user" + (i % 500);
+            String session = "s" + i;
+            executor.execute(() -> {
+                registry.register(user, session);
+                if (session.hashCode() % 2 == 0) {
+                    registry.unregister(user, session);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        long sessions = 0;
+        long users = 0;
+        for (int u = 0; u < 500; u++) {
+            int count = registry.getSessionCount("user" + u);
+            sessions += count;
+            users += count > 0 ? 1 : 0;
+        }
+        assertEquals(sessions, registry.getLocalSessionCount());
+        assertEquals(users, registry.getLocalUserCount());
+    }
+
+    @Test
+    @DisplayName("The cluster count comes from the shared user registry when relaying")
+    void shouldUseSharedRegistryInCluster() {
+        MultiServerUserRegistry shared = mock(MultiServerUserRegistry.class);
+        when(shared.getUserCount()).thenReturn(42);
+        SessionRegistry clustered = new SessionRegistry(shared);
+        clustered.register("alice", "s1");
+
+        assertEquals(1, clustered.getLocalUserCount());
+        assertEquals(42, clustered.getClusterUserCount());
+    }
+}
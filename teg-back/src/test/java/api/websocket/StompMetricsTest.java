@@ -0,0 +1,66 @@
+package api.websocket;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class StompMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private StompMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new StompMetrics(registry);
+    }
+
+    @Test
+    @DisplayName("Outbound messages are counted per destination with the game id removed")
+    void shouldRecordOutboundPerDestination() {
+        send(metrics.outboundInterceptor(), SimpMessageType.MESSAGE, "/topic/game/7", 100);
+        send(metrics.outboundInterceptor(), SimpMessageType.MESSAGE, "/topic/game/8", 50);
+
+        DistributionSummary summary = registry.get("teg.stomp.messages")
+                .tag("direction", "outbound")
+                .tag("destination", "/topic/game/{id}")
+                .summary();
+        assertEquals(2, summary.count());
+        assertEquals(150, summary.totalAmount());
+    }
+
+    @Test
+    @DisplayName("Heartbeats and other frames without a payload are not recorded")
+    void shouldIgnoreNonMessageFrames() {
+        send(metrics.inboundInterceptor(), SimpMessageType.HEARTBEAT, null, 0);
+
+        assertNull(registry.find("teg.stomp.messages").summary());
+    }
+
+    @Test
+    @DisplayName("User destinations are tagged without the session suffix")
+    void shouldNormalizeUserDestinations() {
+        assertEquals("/queue/errors", Destinations.metricsTag("/queue/errors-user3f2a1b"));
+        assertEquals("/topic/lobby/{id}", Destinations.metricsTag("/topic/lobby/42"));
+        assertEquals("/app/game/{id}/ready", Destinations.metricsTag("/app/game/42/ready"));
+    }
+
+    private void send(ChannelInterceptor interceptor, SimpMessageType type, String destination, int size) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(type);
+        accessor.setDestination(destination);
+        accessor.setLeaveMutable(true);
+        Message<byte[]> message = MessageBuilder.createMessage(new byte[size], accessor.getMessageHeaders());
+        interceptor.afterSendCompletion(message, mock(MessageChannel.class), true, null);
+    }
+}
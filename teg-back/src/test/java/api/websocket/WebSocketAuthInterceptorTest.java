@@ -0,0 +1,81 @@
+package api.websocket;
+
+import api.security.JwtService;
+import api.security.UserPrincipal;
+import api.security.UserPrincipalCache;
+import api.service.GameMembershipService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class WebSocketAuthInterceptorTest {
+
+    private final UserPrincipal alice = new UserPrincipal(1L, "alice", "alice@teg.com", true);
+    private final MessageChannel channel = mock(MessageChannel.class);
+    private GameMembershipService gameMembershipService;
+    private WebSocketAuthInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        gameMembershipService = mock(GameMembershipService.class);
+        interceptor = new WebSocketAuthInterceptor(
+                mock(JwtService.class), mock(UserPrincipalCache.class), gameMembershipService);
+    }
+
+    @Test
+    @DisplayName("Players can subscribe to the topics of their game")
+    void shouldAllowPlayersOfTheGame() {
+        when(gameMembershipService.isPlayer(42L, 1L)).thenReturn(true);
+
+        assertDoesNotThrow(() -> interceptor.preSend(subscribe("/topic/game/42"), channel));
+        assertDoesNotThrow(() -> interceptor.preSend(subscribe("/topic/lobby/42"), channel));
+    }
+
+    @Test
+    @DisplayName("Other users cannot subscribe to a game's topics")
+    void shouldRejectOtherUsers() {
+        when(gameMembershipService.isPlayer(42L, 1L)).thenReturn(false);
+
+        assertThrows(AccessDeniedException.class, () -> interceptor.preSend(subscribe("/topic/game/42"), channel));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/topic/lobby", "/topic/active-users", "/user/queue/errors", "/user/queue/game-created"})
+    @DisplayName("Shared topics and the user's own queues are open to any user")
+    void shouldAllowPublicDestinations(String destination) {
+        assertDoesNotThrow(() -> interceptor.preSend(subscribe(destination), channel));
+        verifyNoInteractions(gameMembershipService);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/topic/**", "/topic/*/*", "/topic/game/*", "/topic/game/{id}", "/topic/game/42/**",
+            "/topic/game/abc", "/queue/errors-user1", "/user/queue/*", "/topic"})
+    @DisplayName("Broker patterns and unknown destinations are rejected")
+    void shouldRejectWildcardsAndUnknownDestinations(String destination) {
+        when(gameMembershipService.isPlayer(anyLong(), anyLong())).thenReturn(true);
+
+        assertThrows(AccessDeniedException.class, () -> interceptor.preSend(subscribe(destination), channel));
+    }
+
+    private Message<byte[]> subscribe(String destination) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setDestination(destination);
+        accessor.setSubscriptionId("sub-0");
+        accessor.setUser(new UsernamePasswordAuthenticationToken(alice, null, alice.getAuthorities()));
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
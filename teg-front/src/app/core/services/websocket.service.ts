@@ -1,6 +1,6 @@
 import { Injectable } from '@angular/core';
 import { Observable, BehaviorSubject } from 'rxjs';
-import { Client, IMessage } from '@stomp/stompjs';
+import { Client, IMessage, StompSubscription } from '@stomp/stompjs';
 import { environment } from '../../../environments/environment';
 
 export interface WebSocketMessage {
@@ -19,6 +19,7 @@ export class WebSocketService {
   public connectionStatus$ = this.connectionStatus.asObservable();
   private activeUsersCount = new BehaviorSubject<number>(0);
   public activeUsersCount$ = this.activeUsersCount.asObservable();
+  private watchedGames = new Map<number, StompSubscription[]>();
 
   constructor() {
     this.initializeWebSocketClient();
@@ -78,12 +79,15 @@ export class WebSocketService {
       this.updateActiveUsersCount(data.count);
     });
 
-    // Subscribe to game updates
-    this.client.subscribe('/topic/game-updates', (message: IMessage) => {
+    // Subscribe to lobby list updates
+    this.client.subscribe('/topic/lobby', (message: IMessage) => {
       const data = JSON.parse(message.body);
       this.messagesSubject.next(data);
     });
 
+    // Re-subscribe to the games being watched before a reconnect
+    this.watchedGames.forEach((_, gameId) => this.subscribeToGame(gameId));
+
     // Subscribe to user-specific game updates
     this.client.subscribe('/user/queue/game-created', (message: IMessage) => {
       const data = JSON.parse(message.body);
@@ -106,6 +110,32 @@ export class WebSocketService {
     });
   }
 
+  // Game and lobby events are only published to the players of each game
+  public watchGame(gameId: number): void {
+    if (this.watchedGames.has(gameId)) {
+      return;
+    }
+    this.watchedGames.set(gameId, []);
+    if (this.client.connected) {
+      this.subscribeToGame(gameId);
+    }
+  }
+
+  public unwatchGame(gameId: number): void {
+    this.watchedGames.get(gameId)?.forEach(subscription => subscription.unsubscribe());
+    this.watchedGames.delete(gameId);
+  }
+
+  private subscribeToGame(gameId: number): void {
+    const subscriptions = [`/topic/lobby/${gameId}`, `/topic/game/${gameId}`].map(destination =>
+      this.client.subscribe(destination, (message: IMessage) => {
+        const data = JSON.parse(message.body);
+        this.messagesSubject.next(data);
+      })
+    );
+    this.watchedGames.set(gameId, subscriptions);
+  }
+
   private updateActiveUsersCount(count: number): void {
     console.log('Updating active users count:', count);
     if (count > 0) {  // Only update if count is greater than 0
@@ -388,9 +388,13 @@ export class LobbyComponent implements OnInit, OnDestroy {
   ngOnDestroy() {
     // Clean up subscriptions
     this.subscriptions.forEach(sub => sub.unsubscribe());
+    if (this.gameStatus !== 'IN_PROGRESS') {
+      this.wsService.unwatchGame(this.gameId);
+    }
   }
 
   private subscribeToGameEvents() {
+    this.wsService.watchGame(this.gameId);
     this.subscriptions.push(
       this.wsService.messages$.subscribe(message => {
         // Debug: log all messages
@@ -439,6 +443,7 @@ export class LobbyComponent implements OnInit, OnDestroy {
         if (message.type === 'GAME_STARTED') {
           const { id } = message.payload;
           if (this.gameId === id) {
+            this.gameStatus = 'IN_PROGRESS';
             this.router.navigate([`/games/${id}/map`]);
           }
         }